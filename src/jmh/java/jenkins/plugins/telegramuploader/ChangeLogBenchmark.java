@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.User;
+import hudson.scm.ChangeLogSet;
+import jenkins.scm.RunWithSCM;
+
+/**
+ * Caption changelog building for builds with large changesets after a failure streak.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeLogBenchmark {
+    // Caption size limit
+    private final static int SIZE_LIMIT = 1024;
+
+    @Param({"0", "100"})
+    public int failedBuilds;
+
+    @Param({"10", "1000"})
+    public int changesPerBuild;
+
+    private Run<?, ?> build;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Setup
+    public void setUp() {
+        User author = mock(User.class);
+        when(author.getDisplayName()).thenReturn("John Doe");
+        // The last successful build, failed builds and the current build, oldest first
+        Run previousBuild = null;
+        for (int i = 0; i <= failedBuilds + 1; i++) {
+            Run run = mock(Run.class, withSettings().extraInterfaces(RunWithSCM.class));
+            when(run.getResult()).thenReturn((i == 0) ? Result.SUCCESS : Result.FAILURE);
+            List<ChangeLogSet.Entry> changes = new ArrayList<>(changesPerBuild);
+            for (int j = 0; j < changesPerBuild; j++) {
+                changes.add(new Change("Fix issue #" + i + "_" + j + "\n\nLong description",
+                        author));
+            }
+            List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeSets =
+                    Collections.singletonList(new Changes(run, changes));
+            when(((RunWithSCM) run).getChangeSets()).thenReturn(changeSets);
+            when(run.getPreviousBuild()).thenReturn(previousBuild);
+            previousBuild = run;
+        }
+        this.build = previousBuild;
+    }
+
+    @Benchmark
+    public String buildChangeLog() {
+        return TelegramUploader.buildChangeLog(build, SIZE_LIMIT);
+    }
+
+    private static final class Changes extends ChangeLogSet<ChangeLogSet.Entry> {
+        private final List<ChangeLogSet.Entry> changes;
+
+        Changes(Run<?, ?> run, List<ChangeLogSet.Entry> changes) {
+            super(run, null);
+            this.changes = changes;
+        }
+
+        @Override
+        public boolean isEmptySet() {
+            return changes.isEmpty();
+        }
+
+        @Override
+        public Iterator<ChangeLogSet.Entry> iterator() {
+            return changes.iterator();
+        }
+    }
+
+    private static final class Change extends ChangeLogSet.Entry {
+        private final String msg;
+        private final User author;
+
+        Change(String msg, User author) {
+            this.msg = msg;
+            this.author = author;
+        }
+
+        @Override
+        public String getMsg() {
+            return msg;
+        }
+
+        @Override
+        public User getAuthor() {
+            return author;
+        }
+
+        @Override
+        public Collection<String> getAffectedPaths() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jenkins.util.VirtualFile;
+
+/**
+ * Concurrent uploads with retries to the fake Bot API server injecting latency,
+ * rate limit errors, connection resets and bandwidth cap.
+ *
+ * Sample time mode reports tail latencies, succeeded and failed uploads, request attempts
+ * failed by injected faults and their retries are reported as auxiliary counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(16)
+public class LoadBenchmark {
+    @Param({"1048576"})
+    public int documentSize;
+
+    @Param({"20"})
+    public long latencyMillis;
+
+    // Every n-th request is rate limited, 0 to disable
+    @Param({"0", "50"})
+    public int rateLimitEvery;
+
+    // Every n-th request connection is reset, 0 to disable
+    @Param({"0", "100"})
+    public int resetEvery;
+
+    // Per request upload bandwidth in bytes per second, 0 for no limit
+    @Param({"0", "10485760"})
+    public long bandwidth;
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public TelegramTransport.Type transportType;
+
+    private FakeBotApiServer server;
+    private TelegramTransport transport;
+    private File document;
+    private VirtualFile documentFile;
+    private TelegramRetryPolicy retryPolicy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.server = new FakeBotApiServer(32)
+                .setLatency(latencyMillis)
+                .setRateLimit(rateLimitEvery, 1)
+                .setConnectionReset(resetEvery)
+                .setBandwidth(bandwidth);
+        if (transportType == TelegramTransport.Type.HTTP_2) {
+            this.transport = new JdkHttpClientTransport(null, 0);
+        } else {
+            PoolingHttpClientConnectionManager connectionManager =
+                    new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(32);
+            connectionManager.setDefaultMaxPerRoute(32);
+            this.transport = new ApacheHttpClientTransport(
+                    HttpClients.custom().setConnectionManager(connectionManager).build());
+        }
+        this.document = File.createTempFile("telegram-uploader-benchmark", ".bin");
+        Files.write(this.document.toPath(), new byte[documentSize]);
+        this.documentFile = VirtualFile.forFile(this.document);
+        this.retryPolicy = new TelegramRetryPolicy(5, 60);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.transport.close();
+        this.server.close();
+        this.document.delete();
+    }
+
+    /**
+     * Per thread upload outcomes.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long succeeded;
+        public long failed;
+        public long rateLimited;
+        public long connectionErrors;
+        public long retries;
+
+        // Counts failed request attempts of the thread uploads
+        private final TelegramRequestTracker tracker = new TelegramRequestTracker() {
+            @Override
+            void recordResult(String botApiServerUri, String botToken, String botMethod,
+                    long nanos, long bytes, IOException error) {
+                super.recordResult(botApiServerUri, botToken, botMethod, nanos, bytes, error);
+                if (error instanceof TelegramApiException) {
+                    if (((TelegramApiException) error).getStatusCode() == 429) {
+                        rateLimited++;
+                    }
+                } else if (error != null) {
+                    connectionErrors++;
+                }
+            }
+
+            @Override
+            void recordRetry() {
+                super.recordRetry();
+                retries++;
+            }
+        };
+    }
+
+    @Benchmark
+    public void upload(Outcomes outcomes) {
+        try {
+            HttpEntity data = TelegramUploader.getSendDocumentEntity("-12345678", false, null,
+                    new VirtualFileBody(documentFile, ContentType.DEFAULT_BINARY));
+            if (TelegramUploader.isTelegramResponseOk(TelegramUploader.sendTelegramRequest(
+                    transport, null, server.getUri(), "123456789:benchmark", "sendDocument",
+                    data, null, retryPolicy, null, outcomes.tracker, true))) {
+                outcomes.succeeded++;
+            } else {
+                outcomes.failed++;
+            }
+        } catch (IOException e) {
+            outcomes.failed++;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jenkins.util.VirtualFile;
+
+/**
+ * Multipart request entities construction and serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultipartEntityBenchmark {
+    @Param({"65536", "4194304"})
+    public int documentSize;
+
+    private File document;
+    private VirtualFile documentFile;
+    private URL link;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.document = File.createTempFile("telegram-uploader-benchmark", ".bin");
+        Files.write(this.document.toPath(), new byte[documentSize]);
+        this.documentFile = VirtualFile.forFile(this.document);
+        this.link = new URL("https://jenkins.example.com/job/test/1/artifact/output/app.apk");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.document.delete();
+    }
+
+    @Benchmark
+    public HttpEntity sendDocumentEntity() throws IOException {
+        HttpEntity entity = TelegramUploader.getSendDocumentEntity("-12345678", true,
+                "Build *42* of _test_", new VirtualFileBody(documentFile,
+                        ContentType.DEFAULT_BINARY));
+        entity.writeTo(NullOutputStream.NULL_OUTPUT_STREAM);
+        return entity;
+    }
+
+    @Benchmark
+    public HttpEntity sendLinkEntity() throws IOException {
+        HttpEntity entity = TelegramUploader.getSendLinkEntity("-12345678", true,
+                "Build *42* of _test_", link, documentSize);
+        entity.writeTo(NullOutputStream.NULL_OUTPUT_STREAM);
+        return entity;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bot API responses parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParsingBenchmark {
+    private final static String SEND_DOCUMENT_RESPONSE = "{\"ok\":true,\"result\":"
+            + "{\"message_id\":1234,\"from\":{\"id\":123456789,\"is_bot\":true,"
+            + "\"first_name\":\"Jenkins\",\"username\":\"jenkins_bot\"},"
+            + "\"chat\":{\"id\":-12345678,\"title\":\"Builds\",\"type\":\"group\"},"
+            + "\"date\":1700000000,\"document\":{\"file_name\":\"app-release.apk\","
+            + "\"mime_type\":\"application/vnd.android.package-archive\","
+            + "\"file_id\":\"BQACAgIAAxkDAAIBsmVvAAH7nDqK\",\"file_unique_id\":\"AgADxTMAAu\","
+            + "\"file_size\":31457280},\"caption\":\"Build 42 of test\"}}";
+
+    private ResponseHandler<TelegramResponse> handler;
+    private String mediaGroupResponse;
+
+    @Setup
+    public void setUp() {
+        this.handler = TelegramUploader.getTelegramResponseHandler();
+        String message = SEND_DOCUMENT_RESPONSE.substring(SEND_DOCUMENT_RESPONSE.indexOf(
+                "\"result\":") + 9, SEND_DOCUMENT_RESPONSE.length() - 1);
+        StringBuilder messages = new StringBuilder("{\"ok\":true,\"result\":[");
+        for (int i = 0; i < 10; i++) {
+            messages.append((i > 0) ? "," : "").append(message);
+        }
+        this.mediaGroupResponse = messages.append("]}").toString();
+    }
+
+    @Benchmark
+    public int sendDocumentResponse() throws IOException {
+        TelegramResponse response = handler.handleResponse(getResponse(SEND_DOCUMENT_RESPONSE));
+        return TelegramUploader.getTelegramMessageId(response);
+    }
+
+    @Benchmark
+    public int sendMediaGroupResponse() throws IOException {
+        TelegramResponse response = handler.handleResponse(getResponse(mediaGroupResponse));
+        return TelegramUploader.getTelegramMessageIds(response).size();
+    }
+
+    private static HttpResponse getResponse(String content) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setEntity(new StringEntity(content, ContentType.APPLICATION_JSON));
+        return response;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jenkins.util.VirtualFile;
+
+/**
+ * End-to-end document uploads to the local fake Bot API server.
+ *
+ * Requests aren't addressed to a chat, so they bypass the rate limiter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UploadThroughputBenchmark {
+    @Param({"65536", "4194304"})
+    public int documentSize;
+
+    private FakeBotApiServer server;
+    private TelegramTransport transport;
+    private File document;
+    private VirtualFile documentFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.server = new FakeBotApiServer(8);
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(8);
+        connectionManager.setDefaultMaxPerRoute(8);
+        this.transport = new ApacheHttpClientTransport(
+                HttpClients.custom().setConnectionManager(connectionManager).build());
+        this.document = File.createTempFile("telegram-uploader-benchmark", ".bin");
+        Files.write(this.document.toPath(), new byte[documentSize]);
+        this.documentFile = VirtualFile.forFile(this.document);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.transport.close();
+        this.server.close();
+        this.document.delete();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TelegramResponse upload() throws IOException {
+        return sendDocument();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TelegramResponse parallelUpload() throws IOException {
+        return sendDocument();
+    }
+
+    private TelegramResponse sendDocument() throws IOException {
+        HttpEntity data = TelegramUploader.getSendDocumentEntity("-12345678", false, null,
+                new VirtualFileBody(documentFile, ContentType.DEFAULT_BINARY));
+        return TelegramUploader.sendTelegramRequest(transport, null, server.getUri(),
+                "123456789:benchmark", "sendDocument", data, null, TelegramRetryPolicy.NONE,
+                null);
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.entity.ContentType;
+
+import hudson.Functions;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.util.Secret;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.plugins.telegramuploader.TelegramUploader.TelegramUploaderDescriptor;
+import jenkins.util.VirtualFile;
+
+/**
+ * Uploads workspace files matched by filter straight from the agent which owns the workspace,
+ * so uploaded files don't pass through the controller. Only upload results are sent back.
+ *
+ * Bot token and proxy password are kept as {@link Secret}s until the request is sent.
+ * Rate limits, Bot API server availability and upload bandwidth are controller-wide,
+ * so the agent takes them from the controller through the exported {@link Budget}.
+ * Requests results are sent back with upload results and recorded on the controller.
+ */
+final class AgentUploadCallable
+        extends MasterToSlaveFileCallable<List<AgentUploadCallable.Result>> {
+    private static final long serialVersionUID = 1L;
+
+    private final ArtifactsMatcher matcher;
+    private final String chatId;
+    private final String caption;
+    private final boolean silent;
+    private final boolean stopOnFailure;
+    private final long sendFileSizeLimit;
+    private final String botApiServerUri;
+    private final Secret botToken;
+    private final String httpProxyUri;
+    private final String httpProxyUser;
+    private final Secret httpProxyPassword;
+    private final int maxRequestAttempts;
+    private final int requestRetryDeadline;
+    private final TelegramTimeouts timeouts;
+    private final Budget budget;
+    private final TaskListener listener;
+
+    AgentUploadCallable(TelegramUploader uploader, TelegramUploaderDescriptor descriptor,
+            Run<?, ?> build, VirtualChannel channel, String botApiServerUri, String botToken,
+            String caption, long sendFileSizeLimit, TaskListener listener) {
+        this.matcher = uploader.getArtifactsMatcher();
+        this.chatId = uploader.getChatId();
+        this.silent = uploader.isSilent();
+        this.stopOnFailure = uploader.isFailBuildIfUploadFailed();
+        this.caption = caption;
+        this.sendFileSizeLimit = sendFileSizeLimit;
+        this.botApiServerUri = botApiServerUri;
+        this.botToken = Secret.fromString(botToken);
+        this.httpProxyUri = descriptor.getHttpProxyUri();
+        this.httpProxyUser = descriptor.getHttpProxyUser();
+        this.httpProxyPassword = descriptor.getHttpProxyPassword();
+        this.maxRequestAttempts = descriptor.getMaxRequestAttempts();
+        this.requestRetryDeadline = descriptor.getRequestRetryDeadline();
+        this.timeouts = descriptor.getTimeouts();
+        Budget controllerBudget = new ControllerBudget(botApiServerUri, botToken,
+                (build != null) ? build.getExternalizableId() : null, listener.getLogger());
+        this.budget = (channel != null) ? channel.export(Budget.class, controllerBudget)
+                : controllerBudget;
+        this.listener = listener;
+    }
+
+    @Override
+    public List<Result> invoke(File workspace, VirtualChannel channel) throws IOException {
+        PrintStream logger = this.listener.getLogger();
+        VirtualFile root = VirtualFile.forFile(workspace);
+        List<Result> results = new ArrayList<>();
+        HttpHost httpProxy = TelegramUploader.getHttpProxy(this.httpProxyUri);
+        TelegramRetryPolicy retryPolicy = new TelegramRetryPolicy(this.maxRequestAttempts,
+                this.requestRetryDeadline, this.timeouts);
+        try (ArtifactsMatcher.Listing files = this.matcher.list(root, null);
+                TelegramTransport transport = new ApacheHttpClientTransport(
+                        TelegramUploader.getHttpClient(httpProxy, this.httpProxyUser,
+                                Secret.toString(this.httpProxyPassword)))) {
+            while (files.hasNext()) {
+                String artifact = files.next();
+                VirtualFile artifactFile = root.child(artifact);
+                Result result;
+                if (artifactFile.length() > this.sendFileSizeLimit) {
+                    result = new Result(artifact, -1, "file is too big: "
+                            + Functions.humanReadableByteSize(artifactFile.length())
+                            + ", upload file size limit is: "
+                            + Functions.humanReadableByteSize(this.sendFileSizeLimit));
+                } else {
+                    logger.println("Uploading workspace file '" + artifact
+                            + "' to the Telegram chat " + this.chatId);
+                    result = upload(transport, httpProxy, retryPolicy, artifact, artifactFile,
+                            logger);
+                }
+                results.add(result);
+                if (this.stopOnFailure && result.getError() != null) {
+                    break;
+                }
+            }
+            try {
+                files.checkError();
+            } catch (IOException e) {
+                // Files uploaded before the listing failure are still reported
+                results.add(new Result(null, -1, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private Result upload(TelegramTransport transport, HttpHost httpProxy,
+            TelegramRetryPolicy retryPolicy, String artifact, VirtualFile artifactFile,
+            PrintStream logger) {
+        AgentRequestTracker tracker = new AgentRequestTracker(this.budget);
+        try {
+            HttpEntity data = TelegramBandwidthLimiter.throttle(
+                    TelegramUploader.getSendDocumentEntity(this.chatId, this.silent, this.caption,
+                            new VirtualFileBody(artifactFile, ContentType.DEFAULT_BINARY)),
+                    tracker, TelegramBandwidthLimiter.REMOTE_CHUNK_SIZE, artifact, logger);
+            TelegramResponse response = TelegramUploader.sendTelegramRequest(transport, httpProxy,
+                    this.botApiServerUri, Secret.toString(this.botToken), "sendDocument", data,
+                    this.chatId, retryPolicy, logger, tracker, true);
+            if (!TelegramUploader.isTelegramResponseOk(response)) {
+                return new Result(artifact, -1, "upload error"
+                        + TelegramUploader.getTelegramErrorMessage(response), tracker);
+            }
+            return new Result(artifact, TelegramUploader.getTelegramMessageId(response), null,
+                    tracker);
+        } catch (IOException e) {
+            return new Result(artifact, -1, e.getMessage(), tracker);
+        }
+    }
+
+    /**
+     * Controller-wide limits taken by the agent, exported by the controller.
+     */
+    interface Budget {
+        /**
+         * Wait for a permit to send a message to the chat.
+         *
+         * @param failFast fail if the Bot API server is known to be unavailable
+         */
+        void acquireMessage(String chatId, boolean failFast)
+                throws IOException, InterruptedException;
+
+        /**
+         * Reserve upload bandwidth for given number of bytes.
+         *
+         * @return time in nanoseconds to wait before sending the bytes,
+         *         or -1 if bandwidth isn't limited
+         */
+        long reserveBandwidth(int bytes);
+    }
+
+    /**
+     * Budget of the controller-wide rate limiter, circuit breaker and bandwidth limiter.
+     */
+    private static final class ControllerBudget implements Budget {
+        private final String botApiServerUri;
+        private final String botToken;
+        private final String buildId;
+        private final PrintStream logger;
+
+        ControllerBudget(String botApiServerUri, String botToken, String buildId,
+                PrintStream logger) {
+            this.botApiServerUri = botApiServerUri;
+            this.botToken = botToken;
+            this.buildId = buildId;
+            this.logger = logger;
+        }
+
+        @Override
+        public void acquireMessage(String chatId, boolean failFast)
+                throws IOException, InterruptedException {
+            TelegramRequestTracker.CONTROLLER.acquire(this.botApiServerUri, this.botToken,
+                    chatId, failFast, this.logger);
+        }
+
+        @Override
+        public long reserveBandwidth(int bytes) {
+            return TelegramBandwidthLimiter.get().reserve(this.buildId, bytes);
+        }
+    }
+
+    /**
+     * Tracker of the agent requests, taking limits from the controller budget and
+     * collecting requests results to be recorded on the controller.
+     */
+    private static final class AgentRequestTracker extends TelegramRequestTracker
+            implements IntToLongFunction {
+        private final Budget budget;
+        private final List<RequestRecord> requests = new ArrayList<>();
+        private int retries;
+        // Bandwidth isn't reserved once the controller tells it isn't limited
+        private boolean bandwidthLimited = true;
+
+        AgentRequestTracker(Budget budget) {
+            this.budget = budget;
+        }
+
+        @Override
+        void acquire(String botApiServerUri, String botToken, String chatId, boolean failFast,
+                PrintStream logger) throws IOException, InterruptedException {
+            this.budget.acquireMessage(chatId, failFast);
+        }
+
+        @Override
+        void requestStarted(String botToken) {
+            // Bots load is tracked for controller requests only
+        }
+
+        @Override
+        void requestFinished(String botToken) {
+            // Bots load is tracked for controller requests only
+        }
+
+        @Override
+        void recordResult(String botApiServerUri, String botToken, String botMethod,
+                long nanos, long bytes, IOException error) {
+            this.requests.add(new RequestRecord(botMethod, nanos, bytes, error));
+        }
+
+        @Override
+        void recordRetry() {
+            this.retries++;
+        }
+
+        @Override
+        public long applyAsLong(int bytes) {
+            if (!this.bandwidthLimited) {
+                return -1;
+            }
+            long waitNanos = this.budget.reserveBandwidth(bytes);
+            this.bandwidthLimited = (waitNanos >= 0);
+            return waitNanos;
+        }
+    }
+
+    /**
+     * Result of the Bot API request attempt sent from the agent.
+     */
+    static final class RequestRecord implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String botMethod;
+        private final long nanos;
+        private final long bytes;
+        private final IOException error;
+
+        RequestRecord(String botMethod, long nanos, long bytes, IOException error) {
+            this.botMethod = botMethod;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.error = error;
+        }
+
+        // Record the request result to the controller-wide bots pool, breaker and metrics
+        void record(String botApiServerUri, String botToken) {
+            TelegramRequestTracker.CONTROLLER.recordResult(botApiServerUri, botToken,
+                    this.botMethod, this.nanos, this.bytes, this.error);
+        }
+    }
+
+    /**
+     * Result of the workspace file upload.
+     */
+    static final class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String artifact;
+        private final int messageId;
+        private final String error;
+        private final List<RequestRecord> requests;
+        private final int retries;
+
+        Result(String artifact, int messageId, String error) {
+            this.artifact = artifact;
+            this.messageId = messageId;
+            this.error = error;
+            this.requests = Collections.emptyList();
+            this.retries = 0;
+        }
+
+        private Result(String artifact, int messageId, String error,
+                AgentRequestTracker tracker) {
+            this.artifact = artifact;
+            this.messageId = messageId;
+            this.error = error;
+            this.requests = tracker.requests;
+            this.retries = tracker.retries;
+        }
+
+        // Workspace file path, or null if it's the result of failed files listing
+        String getArtifact() {
+            return artifact;
+        }
+
+        // Uploaded message ID, or -1 if not known
+        int getMessageId() {
+            return messageId;
+        }
+
+        // Upload error message, or null if file was uploaded
+        String getError() {
+            return error;
+        }
+
+        // Record results of the upload requests on the controller
+        void recordRequests(String botApiServerUri, String botToken) {
+            for (RequestRecord request : this.requests) {
+                request.record(botApiServerUri, botToken);
+            }
+            for (int i = 0; i < this.retries; i++) {
+                TelegramRequestTracker.CONTROLLER.recordRetry();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hudson.Util;
+import jenkins.util.VirtualFile;
+
+/**
+ * SHA-256 digests of the archived build artifacts content, shared by everything comparing
+ * artifacts content during an upload.
+ *
+ * Digests are always computed from the artifacts as they are archived, once per upload.
+ * Jenkins fingerprints aren't used, since MD5 digests recorded for the build files
+ * aren't guaranteed to match the archived artifacts.
+ */
+final class ArtifactDigests {
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final VirtualFile artifactsRoot;
+    // Artifact path -> computed SHA-256 digest
+    private final Map<String, String> digests = new ConcurrentHashMap<>();
+
+    ArtifactDigests(VirtualFile artifactsRoot) {
+        this.artifactsRoot = artifactsRoot;
+    }
+
+    /**
+     * Get hex SHA-256 digest of the artifact.
+     *
+     * @param artifact artifact path relative to the artifacts root
+     */
+    String get(String artifact) throws IOException {
+        String digest = this.digests.get(artifact);
+        if (digest == null) {
+            digest = getDigest(this.artifactsRoot.child(artifact));
+            this.digests.put(artifact, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * Compute hex SHA-256 digest of the file content.
+     */
+    static String getDigest(VirtualFile file) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = new DigestInputStream(file.open(), messageDigest)) {
+            while (in.read(buffer) >= 0) {
+                // Content is digested as it's read
+            }
+        }
+        return Util.toHexString(messageDigest.digest());
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+import hudson.Util;
+import jenkins.util.VirtualFile;
+
+/**
+ * Zip bundle of artifacts, compressed while it's written into request bodies.
+ *
+ * Nothing is staged on disk: artifacts are read and compressed as the HTTP client writes
+ * the request body, only the compressor output not yet sent is buffered. The bundle
+ * length isn't known until it's sent, so it could be written into consecutive parts
+ * limited by the upload size limit. Entries timestamps are taken from artifacts, so every
+ * compression of the same artifacts produces the same bytes, and the part written again
+ * on upload retry is compressed again from the bundle start.
+ */
+final class ArtifactsBundle implements Closeable {
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    // Upper bound of zip headers size per entry and per bundle, without entry names
+    private final static int ENTRY_OVERHEAD = 256;
+    private final static int BUNDLE_OVERHEAD = 256;
+
+    private final VirtualFile root;
+    private final String[] artifacts;
+    private final int compressionLevel;
+
+    // Compressor output not written to parts yet
+    private final PendingOutputStream pending = new PendingOutputStream();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private ZipOutputStream zip;
+    // Stream of the artifact being compressed
+    private InputStream entry;
+    private int nextArtifact;
+    private boolean compressed;
+    // Number of bundle bytes written to parts
+    private long position;
+
+    ArtifactsBundle(VirtualFile root, String[] artifacts, int compressionLevel) {
+        this.root = root;
+        this.artifacts = artifacts;
+        this.compressionLevel = (compressionLevel >= Deflater.NO_COMPRESSION
+                && compressionLevel <= Deflater.BEST_COMPRESSION)
+                        ? compressionLevel : Deflater.DEFAULT_COMPRESSION;
+    }
+
+    /**
+     * Get max length of the bundle, which is reached for not compressible artifacts only.
+     */
+    long getMaxLength() throws IOException {
+        long length = BUNDLE_OVERHEAD;
+        for (String artifact : this.artifacts) {
+            long size = this.root.child(artifact).length();
+            // Deflate could expand not compressible data by a few bytes per block
+            length += size + (size >> 12) + ENTRY_OVERHEAD
+                    + 2L * artifact.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return length;
+    }
+
+    /**
+     * Create body of the bundle part starting after the parts written before.
+     *
+     * @param maxLength max length of the part, the rest of the bundle is left to next parts
+     */
+    synchronized Part nextPart(String filename, long maxLength) {
+        return new Part(filename, this.position, maxLength);
+    }
+
+    /**
+     * Check all bundle bytes are written to parts.
+     */
+    synchronized boolean isWritten() {
+        return this.compressed && this.pending.isEmpty();
+    }
+
+    // Write bundle bytes starting at the offset, up to max length, return written length
+    private synchronized long write(OutputStream out, long offset, long maxLength)
+            throws IOException {
+        if (offset != this.position) {
+            // Part is written again, so compress the bundle again up to the part start
+            restart();
+            transfer(OutputStream.nullOutputStream(), offset);
+        }
+        return transfer(out, maxLength);
+    }
+
+    private long transfer(OutputStream out, long maxLength) throws IOException {
+        long written = 0;
+        while (written < maxLength) {
+            int n = this.pending.drainTo(out, (int) Math.min(maxLength - written, BUFFER_SIZE));
+            if (n > 0) {
+                written += n;
+                this.position += n;
+            } else if (this.compressed) {
+                break;
+            } else {
+                compress();
+            }
+        }
+        return written;
+    }
+
+    // Compress next chunk of artifacts into pending output
+    private void compress() throws IOException {
+        if (this.zip == null) {
+            this.zip = new ZipOutputStream(this.pending);
+            this.zip.setLevel(this.compressionLevel);
+        }
+        if (this.entry == null) {
+            if (this.nextArtifact == this.artifacts.length) {
+                this.zip.finish();
+                this.compressed = true;
+                return;
+            }
+            String artifact = this.artifacts[this.nextArtifact++];
+            VirtualFile file = this.root.child(artifact);
+            ZipEntry zipEntry = new ZipEntry(artifact);
+            zipEntry.setTime(file.lastModified());
+            this.zip.putNextEntry(zipEntry);
+            this.entry = file.open();
+            return;
+        }
+        int n = this.entry.read(this.buffer);
+        if (n < 0) {
+            this.entry.close();
+            this.entry = null;
+            this.zip.closeEntry();
+        } else {
+            this.zip.write(this.buffer, 0, n);
+        }
+    }
+
+    private void restart() throws IOException {
+        close();
+        this.nextArtifact = 0;
+        this.compressed = false;
+        this.position = 0;
+    }
+
+    /**
+     * Release artifact stream and compressor of the bundle which isn't completely written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (this.entry != null) {
+                this.entry.close();
+            }
+        } finally {
+            this.entry = null;
+            if (this.zip != null) {
+                this.zip.close();
+                this.zip = null;
+            }
+            this.pending.reset();
+        }
+    }
+
+    /**
+     * Multipart body of the bundle part, SHA-256 digest of the part is computed
+     * while it's written.
+     */
+    final class Part extends AbstractContentBody {
+        private final String filename;
+        private final long offset;
+        private final long maxLength;
+        private volatile long length = -1;
+        private volatile String digest;
+
+        private Part(String filename, long offset, long maxLength) {
+            super(ContentType.DEFAULT_BINARY);
+            this.filename = filename;
+            this.offset = offset;
+            this.maxLength = maxLength;
+        }
+
+        long getMaxLength() {
+            return maxLength;
+        }
+
+        // Length of the written part, or -1 if not written yet
+        long getLength() {
+            return length;
+        }
+
+        // Hex SHA-256 digest of the written part, or null if not written yet
+        String getDigest() {
+            return digest;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+            long written = write(new DigestOutputStream(out, messageDigest), this.offset,
+                    this.maxLength);
+            out.flush();
+            this.length = written;
+            this.digest = Util.toHexString(messageDigest.digest());
+        }
+
+        @Override
+        public String getTransferEncoding() {
+            return MIME.ENC_BINARY;
+        }
+
+        // Part length isn't known in advance, so it's sent chunked
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+    }
+
+    /**
+     * Request entity with the bundle part. Entity could be sent again, since the part
+     * is compressed again then.
+     */
+    static final class PartEntity extends HttpEntityWrapper {
+        private final Part part;
+
+        PartEntity(HttpEntity entity, Part part) {
+            super(entity);
+            this.part = part;
+        }
+
+        Part getPart() {
+            return part;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+    }
+
+    /**
+     * Buffer of compressor output drained to parts.
+     */
+    private static final class PendingOutputStream extends ByteArrayOutputStream {
+        private int drained;
+
+        // Write up to max length of pending bytes, return written length
+        synchronized int drainTo(OutputStream out, int maxLength) throws IOException {
+            int n = Math.min(this.count - this.drained, maxLength);
+            if (n > 0) {
+                out.write(this.buf, this.drained, n);
+                this.drained += n;
+                if (this.drained == this.count) {
+                    reset();
+                }
+            }
+            return n;
+        }
+
+        synchronized boolean isEmpty() {
+            return this.drained == this.count;
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            this.drained = 0;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+
+import hudson.Util;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.util.VirtualFile;
+
+/**
+ * Matches artifacts by Ant-style include and exclude patterns.
+ *
+ * Artifacts tree is walked by a background thread which prunes directories that can't
+ * contain matches, so the first matched artifacts could be uploaded while listing goes on.
+ * Ordered listings are returned when the walk is complete, keeping only the first
+ * {@code maxCount} artifacts in memory. Complete listings could be cached by build ID,
+ * so several uploaders of the same build don't walk the same tree again.
+ */
+final class ArtifactsMatcher implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Order of matched artifacts.
+     */
+    enum Order {
+        NONE("Listing order"),
+        SMALLEST_FIRST("Smallest first"),
+        LARGEST_FIRST("Largest first"),
+        NEWEST_FIRST("Newest first"),
+        OLDEST_FIRST("Oldest first");
+
+        private final String displayName;
+
+        Order(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    // Max number of matched artifacts waiting to be taken from the listing
+    private final static int LISTING_QUEUE_CAPACITY = 1000;
+
+    // Time to wait for the listing consumer before checking if listing is closed
+    private final static long LISTING_OFFER_TIMEOUT_MILLIS = 100;
+
+    private final static int LISTING_CACHE_SIZE = 20;
+
+    // Complete listings cached by build ID and matcher settings
+    private static final Map<String, String[]> LISTING_CACHE =
+            new LinkedHashMap<String, String[]>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+                    return size() > LISTING_CACHE_SIZE;
+                }
+            };
+
+    // Threads walking artifacts trees, mostly waiting on I/O
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+            new NamingThreadFactory(new DaemonThreadFactory(), "Telegram uploader listing"));
+
+    // Listing end marker, compared by identity
+    private static final String END = new String("");
+
+    private final String includes;
+    private final String excludes;
+    private final int maxCount;
+    private final Order order;
+
+    /**
+     * @param includes comma-separated include patterns, all files are included if empty
+     * @param excludes comma-separated exclude patterns added to the default excludes
+     * @param maxCount max number of matched artifacts, or 0 for no limit
+     * @param order matched artifacts order
+     */
+    ArtifactsMatcher(String includes, String excludes, int maxCount, Order order) {
+        String fixedIncludes = Util.fixEmptyAndTrim(includes);
+        this.includes = (fixedIncludes != null) ? fixedIncludes : "**";
+        this.excludes = Util.fixEmptyAndTrim(excludes);
+        this.maxCount = Math.max(maxCount, 0);
+        this.order = (order != null) ? order : Order.NONE;
+    }
+
+    /**
+     * Start listing of matched artifacts.
+     *
+     * @param root artifacts root
+     * @param buildId ID of the build owning the artifacts to cache complete listing by,
+     *        or {@code null} if listing shouldn't be cached
+     */
+    Listing list(VirtualFile root, String buildId) {
+        String cacheKey = (buildId != null) ? buildId + "#" + this.includes + "#"
+                + this.excludes + "#" + this.maxCount + "#" + this.order : null;
+        if (cacheKey != null) {
+            String[] artifacts;
+            synchronized (LISTING_CACHE) {
+                artifacts = LISTING_CACHE.get(cacheKey);
+            }
+            if (artifacts != null) {
+                return new Listing(Arrays.asList(artifacts));
+            }
+        }
+        Listing listing = new Listing(null);
+        EXECUTOR.execute(() -> listing.walk(root, cacheKey));
+        return listing;
+    }
+
+    private static String[] getPatterns(String patterns) {
+        List<String> result = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns.split(",")) {
+                pattern = pattern.trim().replace('\\', '/');
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+                // Pattern ending with a slash matches everything in that directory
+                result.add(pattern.endsWith("/") ? pattern + "**" : pattern);
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static boolean matchesAny(String[] patterns, String path) {
+        for (String pattern : patterns) {
+            if (SelectorUtils.matchPath(pattern, path, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Check if directory contents could be matched by any of patterns
+    private static boolean matchesStartOfAny(String[] patterns, String path) {
+        for (String pattern : patterns) {
+            if (SelectorUtils.matchPatternStart(pattern, path, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Check if all directory contents are matched by any of patterns
+    private static boolean matchesContentsOfAny(String[] patterns, String path) {
+        for (String pattern : patterns) {
+            if (pattern.endsWith("**") && SelectorUtils.matchPath(pattern, path, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Comparator<Entry> getComparator() {
+        Comparator<Entry> comparator = Comparator.comparingLong(entry -> entry.key);
+        if (this.order == Order.LARGEST_FIRST || this.order == Order.NEWEST_FIRST) {
+            comparator = comparator.reversed();
+        }
+        return comparator.thenComparing(entry -> entry.path);
+    }
+
+    // Matched artifact with its ordering key
+    private static final class Entry {
+        private final String path;
+        private final long key;
+
+        Entry(String path, long key) {
+            this.path = path;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Matched artifacts, available as soon as they are found.
+     *
+     * Listing must be closed to stop the walk if not all artifacts are taken.
+     */
+    final class Listing implements Iterator<String>, Closeable {
+        private final BlockingQueue<String> queue;
+        private final Iterator<String> cached;
+        private volatile boolean closed;
+        private volatile IOException error;
+        private volatile boolean interrupted;
+        private String next;
+        private boolean ended;
+
+        private Listing(List<String> cached) {
+            this.cached = (cached != null) ? cached.iterator() : null;
+            this.queue = (cached != null) ? null
+                    : new ArrayBlockingQueue<>(LISTING_QUEUE_CAPACITY);
+        }
+
+        /**
+         * Wait for the next matched artifact.
+         *
+         * @return false if there are no more matched artifacts or the listing was interrupted,
+         *         {@link #checkError()} tells them apart
+         */
+        @Override
+        public boolean hasNext() {
+            if (this.cached != null) {
+                return this.cached.hasNext();
+            }
+            if (this.next == null && !this.ended) {
+                try {
+                    String artifact = this.queue.take();
+                    if (artifact == END) {
+                        this.ended = true;
+                    } else {
+                        this.next = artifact;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    this.interrupted = true;
+                    this.ended = true;
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (this.cached != null) {
+                return this.cached.next();
+            }
+            String artifact = this.next;
+            this.next = null;
+            return artifact;
+        }
+
+        /**
+         * Take all remaining matched artifacts.
+         */
+        String[] toArray() {
+            List<String> artifacts = new ArrayList<>();
+            while (hasNext()) {
+                artifacts.add(next());
+            }
+            return artifacts.toArray(new String[0]);
+        }
+
+        /**
+         * Throw the error which stopped the artifacts tree walk, if any.
+         *
+         * @throws InterruptedIOException if the listing was interrupted before its end
+         */
+        void checkError() throws IOException {
+            if (this.interrupted) {
+                throw new InterruptedIOException("Artifacts listing is interrupted");
+            }
+            IOException walkError = this.error;
+            if (walkError != null) {
+                throw new IOException("Can't list artifacts: " + walkError.getMessage(),
+                        walkError);
+            }
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+
+        private void walk(VirtualFile root, String cacheKey) {
+            String[] includePatterns = getPatterns(includes);
+            List<String> excludePatterns = new ArrayList<>(
+                    Arrays.asList(DirectoryScanner.getDefaultExcludes()));
+            excludePatterns.addAll(Arrays.asList(getPatterns(excludes)));
+            Walker walker = new Walker(includePatterns,
+                    excludePatterns.toArray(new String[0]));
+            try {
+                walker.walk(root, "");
+                if (order != Order.NONE) {
+                    List<Entry> entries = new ArrayList<>(walker.heap);
+                    Collections.sort(entries, getComparator());
+                    for (Entry entry : entries) {
+                        walker.matched.add(entry.path);
+                        if (!put(entry.path)) {
+                            break;
+                        }
+                    }
+                }
+                if (cacheKey != null && !this.closed) {
+                    synchronized (LISTING_CACHE) {
+                        LISTING_CACHE.put(cacheKey, walker.matched.toArray(new String[0]));
+                    }
+                }
+            } catch (IOException e) {
+                this.error = e;
+            } catch (InterruptedException e) {
+                this.interrupted = true;
+                this.closed = true;
+            } finally {
+                try {
+                    put(END);
+                } catch (InterruptedException e) {
+                    // Consumer doesn't wait for the end if listing is closed
+                }
+            }
+        }
+
+        // Put artifact to the queue, return false if listing is closed
+        private boolean put(String artifact) throws InterruptedException {
+            while (!this.closed) {
+                if (this.queue.offer(artifact, LISTING_OFFER_TIMEOUT_MILLIS,
+                        TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Depth-first artifacts tree walk in name order.
+         */
+        private final class Walker {
+            private final String[] includePatterns;
+            private final String[] excludePatterns;
+            // Matched artifacts in listing order
+            private final List<String> matched = new ArrayList<>();
+            // Matched artifacts to order, worst one first if number of them is limited
+            private final PriorityQueue<Entry> heap = new PriorityQueue<>(getComparator()
+                    .reversed());
+
+            Walker(String[] includePatterns, String[] excludePatterns) {
+                this.includePatterns = includePatterns;
+                this.excludePatterns = excludePatterns;
+            }
+
+            // Return false if walk should be stopped
+            boolean walk(VirtualFile dir, String path) throws IOException, InterruptedException {
+                VirtualFile[] children = dir.list();
+                Arrays.sort(children);
+                for (VirtualFile child : children) {
+                    if (closed) {
+                        return false;
+                    }
+                    String childPath = path.isEmpty() ? child.getName()
+                            : path + "/" + child.getName();
+                    if (child.isDirectory()) {
+                        if (matchesStartOfAny(this.includePatterns, childPath)
+                                && !matchesContentsOfAny(this.excludePatterns, childPath)
+                                && !walk(child, childPath)) {
+                            return false;
+                        }
+                    } else if (child.isFile() && matchesAny(this.includePatterns, childPath)
+                            && !matchesAny(this.excludePatterns, childPath)
+                            && !add(childPath, child)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            // Return false if no more artifacts are needed
+            private boolean add(String path, VirtualFile file) throws IOException,
+                    InterruptedException {
+                if (order == Order.NONE) {
+                    this.matched.add(path);
+                    return put(path) && (maxCount == 0 || this.matched.size() < maxCount);
+                }
+                boolean bySize = (order == Order.SMALLEST_FIRST
+                        || order == Order.LARGEST_FIRST);
+                this.heap.add(new Entry(path, bySize ? file.length() : file.lastModified()));
+                if (maxCount > 0 && this.heap.size() > maxCount) {
+                    this.heap.poll();
+                }
+                return true;
+            }
+        }
+    }
+}
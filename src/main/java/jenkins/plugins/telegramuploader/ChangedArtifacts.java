@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import hudson.model.Run;
+import jenkins.plugins.telegramuploader.TelegramUploadedArtifactsAction.UploadedArtifact;
+
+/**
+ * Artifacts changed since they were uploaded to the chat by the previous builds of the job.
+ *
+ * Artifacts are compared by SHA-256 digests of their content shared with the rest of
+ * the upload, see {@link ArtifactDigests}. Digests are computed when artifacts are iterated.
+ */
+final class ChangedArtifacts implements Iterator<String> {
+    /**
+     * What to do with unchanged artifacts.
+     */
+    enum Unchanged {
+        UPLOAD("Upload again"),
+        SKIP("Skip"),
+        FORWARD("Forward previously uploaded message");
+
+        private final String displayName;
+
+        Unchanged(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final ArtifactDigests artifactDigests;
+    private final Iterator<String> artifacts;
+    private final Map<String, UploadedArtifact> previous;
+    // Digests of all iterated artifacts, in iteration order, null if digest is not known
+    private final Map<String, String> digests = new LinkedHashMap<>();
+    // Unchanged artifacts as they were uploaded before, in iteration order
+    private final Map<String, UploadedArtifact> unchanged = new LinkedHashMap<>();
+    private String next;
+
+    ChangedArtifacts(Run<?, ?> build, ArtifactDigests artifactDigests,
+            Iterator<String> artifacts, String chatId) {
+        this.artifactDigests = artifactDigests;
+        this.artifacts = artifacts;
+        this.previous = TelegramUploadedArtifactsAction.getPrevious(build, chatId);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (this.next == null && this.artifacts.hasNext()) {
+            String artifact = this.artifacts.next();
+            String digest = getDigest(artifact);
+            this.digests.put(artifact, digest);
+            UploadedArtifact uploaded = this.previous.get(artifact);
+            if (digest != null && uploaded != null && digest.equals(uploaded.getSha256())) {
+                this.unchanged.put(artifact, uploaded);
+            } else {
+                this.next = artifact;
+            }
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String artifact = this.next;
+        this.next = null;
+        return artifact;
+    }
+
+    Map<String, String> getDigests() {
+        return digests;
+    }
+
+    Map<String, UploadedArtifact> getUnchanged() {
+        return unchanged;
+    }
+
+    // Get SHA-256 digest of the artifact, null if it can't be read
+    private String getDigest(String artifact) {
+        try {
+            return this.artifactDigests.get(artifact);
+        } catch (IOException e) {
+            // Unreadable artifact is considered changed
+            return null;
+        }
+    }
+}
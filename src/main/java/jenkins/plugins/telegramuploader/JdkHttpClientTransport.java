@@ -0,0 +1,358 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * Bot API transport over Java HTTP client, multiplexing concurrent requests to the HTTPS
+ * Bot API server over a few HTTP/2 connections with non-blocking I/O.
+ *
+ * Request body is written by the thread sending the request as the HTTP client demands it,
+ * so uploads don't take threads of their own. Plain HTTP servers are sent HTTP/1.1 requests,
+ * since local Bot API servers don't support HTTP/2 upgrade. Proxy authentication isn't
+ * supported, such proxies are used with {@link ApacheHttpClientTransport}.
+ */
+final class JdkHttpClientTransport implements TelegramTransport {
+    // Max size of request body chunk passed to HTTP client at once
+    private final static int CHUNK_SIZE = 16 * 1024;
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    JdkHttpClientTransport(HttpHost httpProxy, long connectTimeoutMillis) {
+        this.executor = Executors.newCachedThreadPool(new NamingThreadFactory(
+                new DaemonThreadFactory(), "Telegram HTTP client"));
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(this.executor);
+        if (connectTimeoutMillis > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        }
+        if (httpProxy != null) {
+            int port = (httpProxy.getPort() >= 0) ? httpProxy.getPort()
+                    : "https".equalsIgnoreCase(httpProxy.getSchemeName()) ? 443 : 80;
+            builder.proxy(ProxySelector.of(new InetSocketAddress(httpProxy.getHostName(), port)));
+        }
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public TelegramResponse execute(HttpUriRequest request) throws IOException {
+        URI uri = request.getURI();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .version("https".equalsIgnoreCase(uri.getScheme())
+                        ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        // Read timeout of the request config limits the wait for response after the body
+        // is sent, the whole exchange is limited by the total request timeout abort
+        RequestConfig config = (request instanceof Configurable)
+                ? ((Configurable) request).getConfig() : null;
+        long readTimeoutMillis = (config != null) ? config.getSocketTimeout() : 0;
+        HttpEntity entity = (request instanceof HttpEntityEnclosingRequest)
+                ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        EntityPublisher body = null;
+        if (entity != null) {
+            body = new EntityPublisher(entity);
+            if (entity.getContentType() != null) {
+                builder.header(HttpHeaders.CONTENT_TYPE, entity.getContentType().getValue());
+            }
+            builder.method(request.getMethod(), body);
+        } else {
+            builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        CompletableFuture<HttpResponse<InputStream>> response = this.httpClient.sendAsync(
+                builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        EntityPublisher requestBody = body;
+        if (requestBody != null) {
+            response.whenComplete((r, e) -> requestBody.wakeUp());
+        }
+        // Request abort cancels both the body upload and the response wait
+        if (request instanceof HttpExecutionAware) {
+            ((HttpExecutionAware) request).setCancellable(() -> {
+                if (requestBody != null) {
+                    requestBody.cancel();
+                }
+                return response.cancel(true);
+            });
+        }
+        try {
+            if (requestBody != null) {
+                requestBody.write(response);
+            }
+            HttpResponse<InputStream> httpResponse = (readTimeoutMillis > 0)
+                    ? response.get(readTimeoutMillis, TimeUnit.MILLISECONDS) : response.get();
+            try (InputStream content = httpResponse.body()) {
+                return TelegramUploader.handleTelegramResponse(httpResponse.statusCode(),
+                        content, getCharset(httpResponse));
+            }
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request is interrupted");
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("Request is aborted");
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            throw new SocketTimeoutException("Read timed out");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (isConnectionClosed(cause)) {
+                // Retried as transient failure, like the same Apache HttpClient failure
+                IOException noResponse = new NoHttpResponseException(cause.getMessage());
+                noResponse.initCause(cause);
+                throw noResponse;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    // Connection was closed or reset by the server before response
+    private static boolean isConnectionClosed(Throwable e) {
+        if (e instanceof SocketException) {
+            return false;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof EOFException || cause instanceof SocketException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Charset getCharset(HttpResponse<?> response) {
+        try {
+            Charset charset = ContentType.parse(response.headers()
+                    .firstValue(HttpHeaders.CONTENT_TYPE).orElse("")).getCharset();
+            return (charset != null) ? charset : StandardCharsets.UTF_8;
+        } catch (RuntimeException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Request body publisher fed with the entity content by the thread sending the request.
+     */
+    private static final class EntityPublisher implements HttpRequest.BodyPublisher {
+        private final HttpEntity entity;
+        private Flow.Subscriber<? super ByteBuffer> subscriber;
+        // Set when subscriber is ready to receive the body
+        private boolean subscribed;
+        private long demand;
+        private boolean cancelled;
+
+        EntityPublisher(HttpEntity entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        public long contentLength() {
+            return this.entity.getContentLength();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            synchronized (this) {
+                if (this.subscriber != null) {
+                    // Body is written just once, request can't be resent by the HTTP client
+                    subscriber.onSubscribe(new Subscription(null));
+                    subscriber.onError(new IOException("Request body can't be sent twice"));
+                    return;
+                }
+                this.subscriber = subscriber;
+            }
+            subscriber.onSubscribe(new Subscription(subscriber));
+            synchronized (this) {
+                this.subscribed = true;
+                notifyAll();
+            }
+        }
+
+        synchronized void cancel() {
+            this.cancelled = true;
+            notifyAll();
+        }
+
+        synchronized void wakeUp() {
+            notifyAll();
+        }
+
+        // Write the body when subscriber is ready, unless response is already received
+        void write(CompletableFuture<?> response) throws IOException, InterruptedException {
+            Flow.Subscriber<? super ByteBuffer> subscriber;
+            synchronized (this) {
+                while (!this.subscribed && !this.cancelled && !response.isDone()) {
+                    wait();
+                }
+                if (!this.subscribed || this.cancelled) {
+                    return;
+                }
+                subscriber = this.subscriber;
+            }
+            try (OutputStream out = new BufferedOutputStream(
+                    new SubscriberOutputStream(subscriber, response), CHUNK_SIZE)) {
+                this.entity.writeTo(out);
+            } catch (IOException e) {
+                synchronized (this) {
+                    // Response could be received or request could be aborted before upload end
+                    if (this.cancelled || response.isDone()) {
+                        return;
+                    }
+                }
+                subscriber.onError(e);
+                throw e;
+            }
+            subscriber.onComplete();
+        }
+
+        /**
+         * Output stream passing written data to the subscriber as it is demanded.
+         */
+        private final class SubscriberOutputStream extends OutputStream {
+            private final Flow.Subscriber<? super ByteBuffer> subscriber;
+            private final CompletableFuture<?> response;
+
+            SubscriberOutputStream(Flow.Subscriber<? super ByteBuffer> subscriber,
+                    CompletableFuture<?> response) {
+                this.subscriber = subscriber;
+                this.response = response;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    awaitDemand();
+                    int n = Math.min(len, CHUNK_SIZE);
+                    this.subscriber.onNext(ByteBuffer.wrap(Arrays.copyOfRange(b, off, off + n)));
+                    off += n;
+                    len -= n;
+                }
+            }
+
+            private void awaitDemand() throws IOException {
+                synchronized (EntityPublisher.this) {
+                    try {
+                        while (demand == 0 && !cancelled && !this.response.isDone()) {
+                            EntityPublisher.this.wait();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Request body upload is interrupted");
+                    }
+                    if (cancelled || this.response.isDone()) {
+                        throw new InterruptedIOException("Request body upload is cancelled");
+                    }
+                    demand--;
+                }
+            }
+        }
+
+        /**
+         * Subscription of the request body, no demand is accounted for rejected subscribers.
+         */
+        private final class Subscription implements Flow.Subscription {
+            private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+            Subscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            @Override
+            public void request(long n) {
+                if (this.subscriber == null) {
+                    return;
+                }
+                synchronized (EntityPublisher.this) {
+                    demand = (demand + n < 0) ? Long.MAX_VALUE : demand + n;
+                    EntityPublisher.this.notifyAll();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                if (this.subscriber == null) {
+                    return;
+                }
+                EntityPublisher.this.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import jenkins.util.VirtualFile;
+
+/**
+ * Mapping of controller file paths to paths of the same files seen by the local
+ * Bot API server sharing the filesystem with the controller.
+ *
+ * Mapping is configured as lines of {@code <controller path>=<server path>} prefixes,
+ * the longest matching controller path prefix is used. Only regular files staying under
+ * the artifacts root after resolving symbolic links are mapped.
+ */
+final class LocalFilePathMapping {
+    private final List<String[]> prefixes;
+
+    private LocalFilePathMapping(List<String[]> prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Parse mapping lines.
+     *
+     * @throws IllegalArgumentException if mapping line is invalid
+     */
+    static LocalFilePathMapping parse(String mapping) {
+        List<String[]> prefixes = new ArrayList<>();
+        if (mapping != null) {
+            for (String line : mapping.split("\\r?\\n")) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int n = line.indexOf('=');
+                String controllerPath = (n > 0) ? normalize(line.substring(0, n)) : "";
+                String serverPath = (n > 0) ? normalize(line.substring(n + 1)) : "";
+                if (controllerPath.isEmpty() || !serverPath.startsWith("/")) {
+                    throw new IllegalArgumentException("Invalid path mapping '" + line
+                            + "', expected <controller path>=<absolute server path>");
+                }
+                prefixes.add(new String[] { controllerPath, serverPath });
+            }
+        }
+        return new LocalFilePathMapping(prefixes);
+    }
+
+    boolean isEmpty() {
+        return prefixes.isEmpty();
+    }
+
+    /**
+     * @param file file to send
+     * @param root artifacts root the file should stay under
+     * @return {@code file://} URI of the file seen by the Bot API server, or {@code null}
+     *         if file isn't a local file under the artifacts root or it isn't mapped
+     */
+    String getServerFileUri(VirtualFile file, VirtualFile root) {
+        if (this.prefixes.isEmpty()) {
+            return null;
+        }
+        Path filePath = getRealPath(file);
+        Path rootPath = getRealPath(root);
+        // Symbolic links could point to any controller file readable by the Bot API server
+        if (filePath == null || rootPath == null || !filePath.startsWith(rootPath)
+                || !Files.isRegularFile(filePath)) {
+            return null;
+        }
+        String path = toString(filePath);
+        String[] mapped = null;
+        String mappedPrefix = null;
+        for (String[] prefix : this.prefixes) {
+            // Mapped controller path could be a symbolic link itself
+            String controllerPath = getRealPath(prefix[0]);
+            if ((path.equals(controllerPath) || path.startsWith(controllerPath + "/"))
+                    && (mapped == null || controllerPath.length() > mappedPrefix.length())) {
+                mapped = prefix;
+                mappedPrefix = controllerPath;
+            }
+        }
+        if (mapped == null) {
+            return null;
+        }
+        try {
+            return new URI("file", "", mapped[1] + path.substring(mappedPrefix.length()), null,
+                    null).toASCIIString();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    // Local file path with all symbolic links resolved, or null if there is no such file
+    private static Path getRealPath(VirtualFile file) {
+        if (file == null) {
+            return null;
+        }
+        try {
+            // Virtual files not backed by a local file could fail to build their URI
+            URI uri = file.toURI();
+            if (uri == null || !"file".equals(uri.getScheme())) {
+                return null;
+            }
+            return new File(uri).toPath().toRealPath();
+        } catch (IOException | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static String getRealPath(String path) {
+        try {
+            return toString(new File(path).toPath().toRealPath());
+        } catch (IOException | InvalidPathException | SecurityException e) {
+            return path;
+        }
+    }
+
+    private static String toString(Path path) {
+        String s = path.toString().replace(File.separatorChar, '/');
+        return (s.length() > 1 && s.endsWith("/")) ? s.substring(0, s.length() - 1) : s;
+    }
+
+    // Use forward slashes without trailing one
+    private static String normalize(String path) {
+        String normalized = path.trim().replace('\\', '/');
+        while (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Bot API transport shared by concurrent uploads.
+ *
+ * Every upload uses its own lease of the transport. When the transport is retired (replaced
+ * with a new one on settings change, or on shutdown), it's closed after the last lease is
+ * released, so uploads in flight are completed with the transport they were started with.
+ */
+final class SharedTransport {
+    private static final Logger LOGGER = Logger.getLogger(SharedTransport.class.getName());
+
+    private final TelegramTransport transport;
+    // Leases count, plus one until the transport is retired
+    private int references = 1;
+
+    SharedTransport(TelegramTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Lease the transport, lease should be closed when the upload is finished.
+     */
+    synchronized TelegramTransport acquire() {
+        if (this.references <= 0) {
+            throw new IllegalStateException("Telegram HTTP transport is closed");
+        }
+        this.references++;
+        return new Lease();
+    }
+
+    /**
+     * Close the transport once it's not used by any upload.
+     */
+    void retire() {
+        release();
+    }
+
+    private void release() {
+        synchronized (this) {
+            if (--this.references > 0) {
+                return;
+            }
+        }
+        try {
+            this.transport.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Can't close Telegram HTTP transport", e);
+        }
+    }
+
+    private final class Lease implements TelegramTransport {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public TelegramResponse execute(HttpUriRequest request) throws IOException {
+            return transport.execute(request);
+        }
+
+        @Override
+        public void close() {
+            if (this.released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
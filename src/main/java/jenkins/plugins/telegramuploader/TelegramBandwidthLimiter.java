@@ -0,0 +1,297 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongSupplier;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import hudson.Functions;
+import hudson.Util;
+
+/**
+ * Controller-wide upload bandwidth limiter shared by all builds.
+ *
+ * Uploaded request bodies are written in small chunks, each taking its size from the
+ * controller bucket and from the bucket of the build. Limits are read on every chunk,
+ * so changed limits are applied to running uploads too. Upload progress is reported
+ * to the build log periodically. Uploads from agents reserve bandwidth of the controller
+ * buckets remotely, in bigger chunks.
+ */
+final class TelegramBandwidthLimiter {
+    // Max number of bytes written at once
+    private final static int CHUNK_SIZE = 16 * 1024;
+
+    // Max number of bytes written at once by agents, each chunk is reserved by remote call
+    final static int REMOTE_CHUNK_SIZE = 256 * 1024;
+
+    // Unused bandwidth could be taken by the next chunks for this time
+    private final static long MAX_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Upload progress is reported with this interval
+    private final static long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    // Idle buckets are purged when there are more buckets than this
+    private final static int MAX_IDLE_BUCKETS = 100;
+
+    private final static TelegramBandwidthLimiter INSTANCE =
+            new TelegramBandwidthLimiter(System::nanoTime);
+
+    private final LongSupplier nanoClock;
+    // Limits in bytes per second, 0 if not limited
+    private volatile long controllerLimit;
+    private volatile long buildLimit;
+    private final Bucket controllerBucket;
+    private final Map<String, Bucket> buildBuckets = new ConcurrentHashMap<>();
+
+    TelegramBandwidthLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.controllerBucket = new Bucket(() -> this.controllerLimit);
+    }
+
+    static TelegramBandwidthLimiter get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Set bandwidth limits in bytes per second, 0 means no limit.
+     */
+    void setLimits(long controllerLimit, long buildLimit) {
+        this.controllerLimit = Math.max(controllerLimit, 0);
+        this.buildLimit = Math.max(buildLimit, 0);
+    }
+
+    /**
+     * Wrap request body uploaded by the build to be written with bandwidth limits applied
+     * and upload progress reported to the logger.
+     *
+     * @param buildId ID of the uploading build, or {@code null} if build limit isn't applied
+     */
+    HttpEntity throttle(HttpEntity entity, String buildId, String name, PrintStream logger) {
+        Bucket buildBucket = (buildId != null) ? getBuildBucket(buildId) : null;
+        return throttle(entity, n -> reserve(buildBucket, n), CHUNK_SIZE, this.nanoClock, name,
+                logger);
+    }
+
+    /**
+     * Wrap request body to be written with bandwidth reserved by given function.
+     *
+     * @param reservation reserves bandwidth for given number of bytes and returns time
+     *        in nanoseconds to wait before sending them
+     */
+    static HttpEntity throttle(HttpEntity entity, IntToLongFunction reservation, int chunkSize,
+            String name, PrintStream logger) {
+        return throttle(entity, reservation, chunkSize, System::nanoTime, name, logger);
+    }
+
+    private static HttpEntity throttle(HttpEntity entity, IntToLongFunction reservation,
+            int chunkSize, LongSupplier nanoClock, String name, PrintStream logger) {
+        return new HttpEntityWrapper(entity) {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                super.writeTo(new ThrottledOutputStream(out, reservation, chunkSize, nanoClock,
+                        name, getContentLength(), logger));
+            }
+        };
+    }
+
+    /**
+     * Reserve bandwidth of the controller and the build for given number of bytes.
+     *
+     * @param buildId ID of the uploading build, or {@code null} if build limit isn't applied
+     * @return time in nanoseconds to wait before sending the bytes,
+     *         or -1 if bandwidth isn't limited
+     */
+    long reserve(String buildId, int bytes) {
+        if (this.controllerLimit <= 0 && this.buildLimit <= 0) {
+            return -1;
+        }
+        return reserve((buildId != null) ? getBuildBucket(buildId) : null, bytes);
+    }
+
+    private long reserve(Bucket buildBucket, int bytes) {
+        long waitNanos = this.controllerBucket.reserve(bytes);
+        if (buildBucket != null) {
+            waitNanos = Math.max(waitNanos, buildBucket.reserve(bytes));
+        }
+        return waitNanos;
+    }
+
+    private Bucket getBuildBucket(String buildId) {
+        if (this.buildBuckets.size() > MAX_IDLE_BUCKETS) {
+            long now = this.nanoClock.getAsLong();
+            for (Iterator<Bucket> i = this.buildBuckets.values().iterator(); i.hasNext();) {
+                if (i.next().isIdle(now)) {
+                    i.remove();
+                }
+            }
+        }
+        return this.buildBuckets.computeIfAbsent(buildId, k -> new Bucket(() -> this.buildLimit));
+    }
+
+    /**
+     * Output stream written in chunks with bandwidth limits applied.
+     */
+    private static final class ThrottledOutputStream extends FilterOutputStream {
+        private final IntToLongFunction reservation;
+        private final int chunkSize;
+        private final LongSupplier nanoClock;
+        private final String name;
+        private final long length;
+        private final PrintStream logger;
+        private final long startNanos;
+        private long lastProgressNanos;
+        private long written;
+
+        ThrottledOutputStream(OutputStream out, IntToLongFunction reservation, int chunkSize,
+                LongSupplier nanoClock, String name, long length, PrintStream logger) {
+            super(out);
+            this.reservation = reservation;
+            this.chunkSize = chunkSize;
+            this.nanoClock = nanoClock;
+            this.name = name;
+            this.length = length;
+            this.logger = logger;
+            this.startNanos = nanoClock.getAsLong();
+            this.lastProgressNanos = this.startNanos;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            acquire(1);
+            this.out.write(b);
+            this.written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, this.chunkSize);
+                acquire(n);
+                this.out.write(b, off, n);
+                this.written += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void acquire(int n) throws IOException {
+            long waitNanos = this.reservation.applyAsLong(n);
+            if (waitNanos > 0) {
+                UploadCancellation cancellation = UploadCancellation.current();
+                if (cancellation != null) {
+                    cancellation.checkCancelled();
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    // Request isn't timed out by waits for bandwidth
+                    TelegramTimeouts.extendCurrent(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Telegram upload is interrupted");
+                }
+            }
+            reportProgress();
+        }
+
+        private void reportProgress() {
+            long now = this.nanoClock.getAsLong();
+            if (this.logger == null || now - this.lastProgressNanos < PROGRESS_INTERVAL_NANOS) {
+                return;
+            }
+            this.lastProgressNanos = now;
+            long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(now - this.startNanos), 1);
+            long rate = this.written * 1000 / elapsedMillis;
+            StringBuilder progress = new StringBuilder("Uploading '").append(this.name)
+                    .append("': ").append(Functions.humanReadableByteSize(this.written));
+            if (this.length > 0) {
+                progress.append(" of ").append(Functions.humanReadableByteSize(this.length));
+            }
+            progress.append(" sent (").append(Functions.humanReadableByteSize(rate))
+                    .append("/s)");
+            if (this.length > 0 && rate > 0) {
+                long remainingMillis = (this.length - this.written) * 1000 / rate;
+                progress.append(", ETA ").append(Util.getTimeSpanString(remainingMillis));
+            }
+            this.logger.println(progress);
+        }
+    }
+
+    /**
+     * Token bucket with the limit read on each reservation.
+     */
+    private final class Bucket {
+        private final LongSupplier limit;
+        private final ReentrantLock lock = new ReentrantLock(true);
+        // Time the previously reserved bytes are sent at the limited rate
+        private long nextNanos;
+
+        Bucket(LongSupplier limit) {
+            this.limit = limit;
+            this.nextNanos = nanoClock.getAsLong();
+        }
+
+        // Reserve bandwidth for given number of bytes and return time to wait before sending
+        long reserve(int bytes) {
+            long bytesPerSecond = this.limit.getAsLong();
+            this.lock.lock();
+            try {
+                long now = nanoClock.getAsLong();
+                if (bytesPerSecond <= 0) {
+                    this.nextNanos = now;
+                    return 0;
+                }
+                long start = Math.max(this.nextNanos, now - MAX_BURST_NANOS);
+                this.nextNanos = start + bytes * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+                return Math.max(this.nextNanos - now, 0);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        boolean isIdle(long now) {
+            this.lock.lock();
+            try {
+                return this.nextNanos - now < 0;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.apache.http.HttpStatus;
+
+/**
+ * Controller-wide state of the configured bots used to shard uploads across them.
+ *
+ * Chat is assigned to the bot by rendezvous hashing of bot and chat IDs, so the chat
+ * keeps its bot while the bot is healthy and only chats of the failed or removed bot
+ * are reassigned. Chats accepting any bot could be assigned to the bot with the least
+ * number of in-flight requests instead. Bot is considered unhealthy for a while after
+ * several consecutive failed requests.
+ */
+final class TelegramBotPool {
+    // Bot is considered unhealthy after this number of consecutive failed requests
+    private final static int MAX_CONSECUTIVE_FAILURES = 3;
+
+    // Unhealthy bot isn't used for this time unless all bots are unhealthy
+    private final static long UNHEALTHY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final static TelegramBotPool INSTANCE = new TelegramBotPool(System::nanoTime);
+
+    private final LongSupplier nanoClock;
+    private final Map<String, Bot> bots = new ConcurrentHashMap<>();
+
+    TelegramBotPool(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    static TelegramBotPool get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Select bot to upload to the chat.
+     *
+     * @param botTokens configured bot tokens
+     * @param leastLoaded select the least loaded bot instead of the bot assigned to the chat
+     * @return selected bot token, or {@code null} if no bots are configured
+     */
+    String select(List<String> botTokens, String chatId, boolean leastLoaded) {
+        long now = this.nanoClock.getAsLong();
+        String selected = null;
+        long selectedScore = 0;
+        boolean selectedHealthy = false;
+        for (String botToken : botTokens) {
+            String botId = TelegramRateLimiter.getBotId(botToken);
+            Bot bot = getBot(botId);
+            boolean healthy = bot.isHealthy(now);
+            // Unhealthy bot is selected only if there are no healthy ones
+            if (selected != null && selectedHealthy && !healthy) {
+                continue;
+            }
+            long score = leastLoaded ? -bot.inFlight.get() : getScore(botId, chatId);
+            if (selected == null || healthy && !selectedHealthy || score > selectedScore) {
+                selected = botToken;
+                selectedScore = score;
+                selectedHealthy = healthy;
+            }
+        }
+        return selected;
+    }
+
+    // Rendezvous hash of bot and chat, mixed with MurmurHash3 finalizer
+    private static long getScore(String botId, String chatId) {
+        long h = (botId + "/" + chatId).hashCode();
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    void requestStarted(String botToken) {
+        getBot(TelegramRateLimiter.getBotId(botToken)).inFlight.incrementAndGet();
+    }
+
+    void requestFinished(String botToken) {
+        getBot(TelegramRateLimiter.getBotId(botToken)).inFlight.decrementAndGet();
+    }
+
+    /**
+     * Record result of the request attempt.
+     *
+     * @param error request error, or {@code null} if request is succeeded
+     */
+    void recordResult(String botToken, IOException error) {
+        Bot bot = getBot(TelegramRateLimiter.getBotId(botToken));
+        bot.requests.incrementAndGet();
+        int statusCode = (error instanceof TelegramApiException)
+                ? ((TelegramApiException) error).getStatusCode() : -1;
+        if (statusCode == HttpStatus.SC_TOO_MANY_REQUESTS) {
+            // Bot is rate limited, but it's healthy
+            bot.rateLimited.incrementAndGet();
+            return;
+        }
+        // Client errors other than authorization ones are caused by the request itself
+        boolean failed = (error != null) && (statusCode < HttpStatus.SC_BAD_REQUEST
+                || statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR
+                || statusCode == HttpStatus.SC_UNAUTHORIZED
+                || statusCode == HttpStatus.SC_NOT_FOUND);
+        if (!failed) {
+            bot.consecutiveFailures.set(0);
+            return;
+        }
+        bot.failures.incrementAndGet();
+        bot.lastError = error.getMessage();
+        if (bot.consecutiveFailures.incrementAndGet() >= MAX_CONSECUTIVE_FAILURES) {
+            bot.unhealthyUntil = this.nanoClock.getAsLong() + UNHEALTHY_NANOS;
+        }
+    }
+
+    /**
+     * @return status of the bots used since Jenkins start, by bot ID
+     */
+    Collection<BotStatus> getStatus() {
+        long now = this.nanoClock.getAsLong();
+        Map<String, BotStatus> status = new TreeMap<>();
+        for (Map.Entry<String, Bot> bot : this.bots.entrySet()) {
+            status.put(bot.getKey(), new BotStatus(bot.getKey(), bot.getValue(), now));
+        }
+        return Collections.unmodifiableCollection(new ArrayList<>(status.values()));
+    }
+
+    private Bot getBot(String botId) {
+        return this.bots.computeIfAbsent(botId, k -> new Bot());
+    }
+
+    /**
+     * Mutable bot state.
+     */
+    private static final class Bot {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong rateLimited = new AtomicLong();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long unhealthyUntil;
+        private volatile String lastError;
+
+        boolean isHealthy(long now) {
+            return this.consecutiveFailures.get() < MAX_CONSECUTIVE_FAILURES
+                    || now - this.unhealthyUntil >= 0;
+        }
+    }
+
+    /**
+     * Bot status snapshot shown on the status page.
+     */
+    public static final class BotStatus {
+        private final String botId;
+        private final boolean healthy;
+        private final int inFlightRequests;
+        private final long requests;
+        private final long failures;
+        private final long rateLimitedRequests;
+        private final String lastError;
+
+        private BotStatus(String botId, Bot bot, long now) {
+            this.botId = botId;
+            this.healthy = bot.isHealthy(now);
+            this.inFlightRequests = bot.inFlight.get();
+            this.requests = bot.requests.get();
+            this.failures = bot.failures.get();
+            this.rateLimitedRequests = bot.rateLimited.get();
+            this.lastError = bot.lastError;
+        }
+
+        public String getBotId() {
+            return botId;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public int getInFlightRequests() {
+            return inFlightRequests;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getRateLimitedRequests() {
+            return rateLimitedRequests;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+    }
+}
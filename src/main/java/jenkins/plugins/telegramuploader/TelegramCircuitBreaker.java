@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.Util;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * Controller-wide circuit breaker of the Bot API server shared by all builds.
+ *
+ * After a number of consecutive server failures (connection errors, timeouts and 5xx
+ * responses) the breaker opens and requests to the server fail fast instead of being
+ * sent and retried. While the breaker is open the server is probed periodically, and
+ * one trial request is let through after the open interval. Successful probe or trial
+ * request closes the breaker, failed trial request opens it again.
+ */
+final class TelegramCircuitBreaker {
+    // Breaker opens after this number of consecutive server failures
+    private final static int FAILURE_THRESHOLD = 5;
+
+    // Time before trial request to the server and the server probe interval
+    private final static long OPEN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final Logger LOGGER = Logger.getLogger(TelegramCircuitBreaker.class.getName());
+
+    private static final Map<String, TelegramCircuitBreaker> BREAKERS =
+            new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService PROBE_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(
+                    new DaemonThreadFactory(), "Telegram Bot API server probe"));
+
+    // Checks if the server with given URI is available, set by the controller
+    private static volatile Predicate<String> probe;
+
+    enum State {
+        CLOSED("Closed"),
+        OPEN("Open"),
+        HALF_OPEN("Half-open");
+
+        private final String displayName;
+
+        State(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final String serverUri;
+    private final LongSupplier nanoClock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    // Time of the breaker opening or of the last trial request
+    private long openTime;
+    private long openedAtMillis;
+    private String lastError;
+    private ScheduledFuture<?> probeTask;
+
+    TelegramCircuitBreaker(String serverUri, LongSupplier nanoClock) {
+        this.serverUri = serverUri;
+        this.nanoClock = nanoClock;
+    }
+
+    static TelegramCircuitBreaker get(String serverUri) {
+        return BREAKERS.computeIfAbsent(serverUri,
+                uri -> new TelegramCircuitBreaker(uri, System::nanoTime));
+    }
+
+    static void setProbe(Predicate<String> serverProbe) {
+        probe = serverProbe;
+    }
+
+    /**
+     * Check if request could be sent to the server.
+     *
+     * @throws IOException if the breaker is open
+     */
+    synchronized void checkAvailable() throws IOException {
+        if (this.state == State.CLOSED) {
+            return;
+        }
+        long now = this.nanoClock.getAsLong();
+        if (now - this.openTime >= OPEN_INTERVAL_NANOS) {
+            // Let one trial request through
+            this.state = State.HALF_OPEN;
+            this.openTime = now;
+            return;
+        }
+        throw new IOException("Bot API server " + this.serverUri
+                + " is unavailable (" + this.lastError + "), retry in "
+                + TimeUnit.NANOSECONDS.toSeconds(OPEN_INTERVAL_NANOS - now + this.openTime)
+                + " s");
+    }
+
+    /**
+     * Wait until the breaker is closed by the server probe or by a trial request.
+     */
+    synchronized void awaitAvailable() throws InterruptedException {
+        while (this.state != State.CLOSED) {
+            wait();
+        }
+    }
+
+    synchronized void recordSuccess() {
+        this.consecutiveFailures = 0;
+        if (this.state != State.CLOSED) {
+            close();
+        }
+    }
+
+    synchronized void recordFailure(IOException error) {
+        this.consecutiveFailures++;
+        this.lastError = String.valueOf(error.getMessage());
+        if (this.state == State.HALF_OPEN
+                || (this.state == State.CLOSED && this.consecutiveFailures >= FAILURE_THRESHOLD)) {
+            open();
+        }
+    }
+
+    private void open() {
+        if (this.state == State.CLOSED) {
+            LOGGER.log(Level.WARNING, "Bot API server {0} is unavailable: {1}",
+                    new Object[] { this.serverUri, this.lastError });
+        }
+        this.state = State.OPEN;
+        this.openTime = this.nanoClock.getAsLong();
+        if (this.openedAtMillis == 0) {
+            this.openedAtMillis = System.currentTimeMillis();
+        }
+        if (this.probeTask == null && probe != null) {
+            this.probeTask = PROBE_EXECUTOR.scheduleWithFixedDelay(this::probe,
+                    OPEN_INTERVAL_NANOS, OPEN_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void close() {
+        LOGGER.log(Level.INFO, "Bot API server {0} is available again", this.serverUri);
+        this.state = State.CLOSED;
+        this.openedAtMillis = 0;
+        if (this.probeTask != null) {
+            this.probeTask.cancel(false);
+            this.probeTask = null;
+        }
+        notifyAll();
+    }
+
+    private void probe() {
+        Predicate<String> serverProbe = probe;
+        synchronized (this) {
+            if (this.state == State.CLOSED || serverProbe == null) {
+                return;
+            }
+        }
+        // Probe is sent outside of the lock, since it could take a while
+        if (serverProbe.test(this.serverUri)) {
+            recordSuccess();
+        }
+    }
+
+    // Breaker states for the global configuration page
+    static Collection<Status> getStatus() {
+        Map<String, Status> status = new TreeMap<>();
+        for (TelegramCircuitBreaker breaker : BREAKERS.values()) {
+            synchronized (breaker) {
+                status.put(breaker.serverUri, new Status(breaker));
+            }
+        }
+        return Collections.unmodifiableCollection(new ArrayList<>(status.values()));
+    }
+
+    /**
+     * Breaker state snapshot.
+     */
+    public static final class Status {
+        private final String serverUri;
+        private final String state;
+        private final int consecutiveFailures;
+        private final long openedAtMillis;
+        private final String lastError;
+
+        private Status(TelegramCircuitBreaker breaker) {
+            this.serverUri = breaker.serverUri;
+            this.state = breaker.state.getDisplayName();
+            this.consecutiveFailures = breaker.consecutiveFailures;
+            this.openedAtMillis = breaker.openedAtMillis;
+            this.lastError = breaker.lastError;
+        }
+
+        public String getServerUri() {
+            return serverUri;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public boolean isClosed() {
+            return openedAtMillis == 0;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        // Time since the server is unavailable, null if the breaker is closed
+        public String getOpenedFor() {
+            return isClosed() ? null
+                    : Util.getTimeSpanString(System.currentTimeMillis() - openedAtMillis);
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+    }
+}
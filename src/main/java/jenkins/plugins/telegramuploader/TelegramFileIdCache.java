@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.XmlFile;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+
+/**
+ * Persistent index of Telegram file IDs of uploaded files, keyed by SHA-256 digest of
+ * files content (see {@link ArtifactDigests}), so identical files could be sent again
+ * by file ID instead of uploading them.
+ *
+ * File IDs are valid only for the bot and Bot API server they were obtained from, so
+ * the index is kept separately for each bot and server. Each index is bounded by size
+ * and least recently used entries are evicted first. Changes are saved in batches
+ * shortly after they are made, outside of the cache lock.
+ */
+final class TelegramFileIdCache {
+    private static final Logger LOGGER = Logger.getLogger(TelegramFileIdCache.class.getName());
+
+    // Delay of saving changes, so changes made by concurrent uploads are saved together
+    private final static long SAVE_DELAY_SECONDS = 5;
+
+    // Length of hex SHA-256 file hash
+    private final static int FILE_HASH_LENGTH = 64;
+
+    private static final ScheduledExecutorService SAVE_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(
+                    new DaemonThreadFactory(), "Telegram file ID cache saver"));
+
+    private transient int maxSize;
+    private transient boolean saveScheduled;
+
+    // Bot and Bot API server -> file hash -> file ID, in least recently used first order
+    private final Map<String, LinkedHashMap<String, String>> fileIds = new HashMap<>();
+
+    private TelegramFileIdCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    static TelegramFileIdCache load(int maxSize) {
+        TelegramFileIdCache cache = new TelegramFileIdCache(maxSize);
+        XmlFile xmlFile = getConfigFile();
+        if (xmlFile.exists()) {
+            try {
+                xmlFile.unmarshal(cache);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Can't load Telegram file ID cache", e);
+            }
+        }
+        cache.maxSize = maxSize;
+        // File IDs saved by older plugin versions are keyed by MD5 digest, drop them
+        for (LinkedHashMap<String, String> botFileIds : cache.fileIds.values()) {
+            botFileIds.keySet().removeIf(fileHash -> fileHash.length() != FILE_HASH_LENGTH);
+        }
+        return cache;
+    }
+
+    synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    synchronized String get(String botId, String botApiServerUri, String fileHash) {
+        LinkedHashMap<String, String> botFileIds = this.fileIds.get(getKey(botId, botApiServerUri));
+        String fileId = (botFileIds != null) ? botFileIds.remove(fileHash) : null;
+        if (fileId != null) {
+            // Move to the most recently used position
+            botFileIds.put(fileHash, fileId);
+        }
+        return fileId;
+    }
+
+    synchronized void put(String botId, String botApiServerUri, String fileHash, String fileId) {
+        LinkedHashMap<String, String> botFileIds = this.fileIds.computeIfAbsent(
+                getKey(botId, botApiServerUri), k -> new LinkedHashMap<>());
+        botFileIds.remove(fileHash);
+        botFileIds.put(fileHash, fileId);
+        for (Iterator<String> i = botFileIds.keySet().iterator();
+                i.hasNext() && botFileIds.size() > this.maxSize;) {
+            i.next();
+            i.remove();
+        }
+        save();
+    }
+
+    synchronized void remove(String botId, String botApiServerUri, String fileHash) {
+        LinkedHashMap<String, String> botFileIds = this.fileIds.get(getKey(botId, botApiServerUri));
+        if (botFileIds != null && botFileIds.remove(fileHash) != null) {
+            save();
+        }
+    }
+
+    // Schedule saving of changes, called with the cache lock held
+    private void save() {
+        if (!this.saveScheduled) {
+            this.saveScheduled = true;
+            SAVE_EXECUTOR.schedule(this::flush, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Save pending changes, if any.
+     */
+    void flush() {
+        // Snapshots are written in order they are taken
+        synchronized (SAVE_EXECUTOR) {
+            TelegramFileIdCache snapshot = new TelegramFileIdCache(0);
+            synchronized (this) {
+                if (!this.saveScheduled) {
+                    return;
+                }
+                this.saveScheduled = false;
+                for (Map.Entry<String, LinkedHashMap<String, String>> botFileIds
+                        : this.fileIds.entrySet()) {
+                    snapshot.fileIds.put(botFileIds.getKey(),
+                            new LinkedHashMap<>(botFileIds.getValue()));
+                }
+            }
+            try {
+                getConfigFile().write(snapshot);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Can't save Telegram file ID cache", e);
+            }
+        }
+    }
+
+    private static String getKey(String botId, String botApiServerUri) {
+        return botId + "@" + botApiServerUri;
+    }
+
+    private static XmlFile getConfigFile() {
+        return new XmlFile(new File(Jenkins.get().getRootDir(),
+                TelegramFileIdCache.class.getName() + ".xml"));
+    }
+}
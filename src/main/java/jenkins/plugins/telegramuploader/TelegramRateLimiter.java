@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Controller-wide Telegram Bot API rate limiter shared by all builds.
+ *
+ * Every message sent to a chat takes a permit from the bot bucket and from the target
+ * chat bucket (https://core.telegram.org/bots/faq#my-bot-is-hitting-limits-how-do-i-avoid-this).
+ * Permits are reserved in arrival order, so concurrent builds are served fairly.
+ */
+final class TelegramRateLimiter {
+    // Bot API limit for all messages sent by a bot: 30 messages per second
+    private final static long BOT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1) / 30;
+    private final static int BOT_BURST = 30;
+
+    // Bot API limit for a private chat: about one message per second
+    private final static long PRIVATE_CHAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private final static int PRIVATE_CHAT_BURST = 3;
+
+    // Bot API limit for a group or channel: 20 messages per minute
+    private final static long GROUP_CHAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(4);
+    private final static int GROUP_CHAT_BURST = 5;
+
+    // Waits longer than this are reported to the build log
+    private final static long LOGGED_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Idle buckets are purged when there are more buckets than this
+    private final static int MAX_IDLE_BUCKETS = 1000;
+
+    private final static TelegramRateLimiter INSTANCE = new TelegramRateLimiter(System::nanoTime,
+            TimeUnit.NANOSECONDS::sleep);
+
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private final Map<String, Bucket> botBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> chatBuckets = new ConcurrentHashMap<>();
+
+    TelegramRateLimiter(LongSupplier nanoClock, Sleeper sleeper) {
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    static TelegramRateLimiter get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Wait for a permit to send a message to the chat using given bot.
+     */
+    void acquire(String botToken, String chatId, PrintStream logger) throws InterruptedException {
+        String botId = getBotId(botToken);
+        Bucket chatBucket = getBucket(this.chatBuckets, botId + "/" + chatId,
+                isGroupChatId(chatId) ? GROUP_CHAT_INTERVAL_NANOS : PRIVATE_CHAT_INTERVAL_NANOS,
+                isGroupChatId(chatId) ? GROUP_CHAT_BURST : PRIVATE_CHAT_BURST);
+        await(chatBucket.reserve(), "Telegram chat " + chatId, logger);
+        Bucket botBucket = getBucket(this.botBuckets, botId, BOT_INTERVAL_NANOS, BOT_BURST);
+        await(botBucket.reserve(), "Telegram bot", logger);
+    }
+
+    private void await(long waitNanos, String limited, PrintStream logger)
+            throws InterruptedException {
+        if (waitNanos <= 0) {
+            return;
+        }
+        if (logger != null && waitNanos >= LOGGED_WAIT_NANOS) {
+            logger.println("Waiting " + TimeUnit.NANOSECONDS.toMillis(waitNanos)
+                    + " ms for " + limited + " rate limit");
+        }
+        this.sleeper.sleep(waitNanos);
+    }
+
+    private Bucket getBucket(Map<String, Bucket> buckets, String key, long intervalNanos,
+            int burst) {
+        if (buckets.size() > MAX_IDLE_BUCKETS) {
+            long now = this.nanoClock.getAsLong();
+            for (Iterator<Bucket> i = buckets.values().iterator(); i.hasNext();) {
+                if (i.next().isIdle(now)) {
+                    i.remove();
+                }
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(intervalNanos, burst));
+    }
+
+    // Group and channel chat IDs are negative, channels could also be addressed by @name
+    static boolean isGroupChatId(String chatId) {
+        return chatId.startsWith("-") || chatId.startsWith("@");
+    }
+
+    // Bot token format is <bot ID>:<secret>, so don't keep the secret part in memory
+    static String getBotId(String botToken) {
+        int n = (botToken != null) ? botToken.indexOf(':') : -1;
+        return (n > 0) ? botToken.substring(0, n)
+                : Integer.toHexString(String.valueOf(botToken).hashCode());
+    }
+
+    /**
+     * Waits for the given time, the clock is expected to advance by this time.
+     */
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    /**
+     * Token bucket implemented as generic cell rate algorithm with permit reservation.
+     */
+    private final class Bucket {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final ReentrantLock lock = new ReentrantLock(true);
+        // Theoretical arrival time of the next permit
+        private long nextPermitNanos;
+
+        Bucket(long intervalNanos, int burst) {
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = (burst - 1) * intervalNanos;
+            this.nextPermitNanos = nanoClock.getAsLong();
+        }
+
+        // Reserve a permit and return time to wait before using it
+        long reserve() {
+            this.lock.lock();
+            try {
+                long now = nanoClock.getAsLong();
+                long next = Math.max(this.nextPermitNanos - now, 0) + now;
+                this.nextPermitNanos = next + this.intervalNanos;
+                return Math.max(next - this.burstNanos - now, 0);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        boolean isIdle(long now) {
+            this.lock.lock();
+            try {
+                return this.nextPermitNanos - now < 0;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Tracker of Bot API requests, applying controller-wide Telegram rate limits and
+ * Bot API server circuit breaker to them and recording their results to the bots pool
+ * and upload metrics.
+ *
+ * Controller-wide state lives on the controller only, so requests sent from agents are
+ * tracked by the agent tracker coordinating them with the controller, see
+ * {@link AgentUploadCallable}.
+ */
+class TelegramRequestTracker {
+    static final TelegramRequestTracker CONTROLLER = new TelegramRequestTracker();
+
+    /**
+     * Wait for a permit to send the request and check if the Bot API server is available.
+     *
+     * @param chatId chat the message is sent to, or {@code null} if request isn't rate limited
+     * @param failFast fail if the Bot API server is known to be unavailable
+     */
+    void acquire(String botApiServerUri, String botToken, String chatId, boolean failFast,
+            PrintStream logger) throws IOException, InterruptedException {
+        // Messages sent to chats are subject of Telegram rate limits
+        if (chatId != null) {
+            TelegramRateLimiter.get().acquire(botToken, chatId, logger);
+        }
+        // Unavailable server fails the request without retries
+        if (failFast) {
+            TelegramCircuitBreaker.get(botApiServerUri).checkAvailable();
+        }
+    }
+
+    // Bot is loaded by the request until it's done, including retry waits
+    void requestStarted(String botToken) {
+        TelegramBotPool.get().requestStarted(botToken);
+    }
+
+    void requestFinished(String botToken) {
+        TelegramBotPool.get().requestFinished(botToken);
+    }
+
+    /**
+     * Record the result of the request attempt.
+     *
+     * @param error request failure, or {@code null} if response is received
+     */
+    void recordResult(String botApiServerUri, String botToken, String botMethod, long nanos,
+            long bytes, IOException error) {
+        TelegramUploaderMetrics.get().recordRequest(botMethod, nanos, bytes, error);
+        TelegramBotPool.get().recordResult(botToken, error);
+        TelegramCircuitBreaker breaker = TelegramCircuitBreaker.get(botApiServerUri);
+        if (error != null && TelegramUploader.isBotApiServerFailure(error)) {
+            breaker.recordFailure(error);
+        } else {
+            breaker.recordSuccess();
+        }
+    }
+
+    void recordRetry() {
+        TelegramUploaderMetrics.get().recordRetry();
+    }
+}
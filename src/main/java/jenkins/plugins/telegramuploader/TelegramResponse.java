@@ -0,0 +1,472 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bot API server response fields used by the uploader.
+ *
+ * Responses are parsed by a streaming scanner that keeps only the fields below and
+ * skips everything else without building a JSON tree. At most given number of bytes
+ * of the response body are read, fields found before this limit are kept.
+ */
+final class TelegramResponse {
+    private boolean ok;
+    private String description;
+    private int errorCode = -1;
+    private int retryAfter = -1;
+    // Single message result
+    private int messageId = -1;
+    private String fileId;
+    // Array of messages or message IDs result, file IDs are null for non-document messages
+    private List<Integer> messageIds;
+    private List<String> fileIds;
+
+    private TelegramResponse() {
+    }
+
+    boolean isOk() {
+        return ok;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    int getErrorCode() {
+        return errorCode;
+    }
+
+    int getRetryAfter() {
+        return retryAfter;
+    }
+
+    int getMessageId() {
+        return messageId;
+    }
+
+    String getFileId() {
+        return fileId;
+    }
+
+    List<Integer> getMessageIds() {
+        return (messageIds != null) ? messageIds : Collections.<Integer>emptyList();
+    }
+
+    List<String> getFileIds() {
+        return (fileIds != null) ? fileIds : Collections.<String>emptyList();
+    }
+
+    /**
+     * Parse response body reading at most {@code maxBytes} bytes of it.
+     *
+     * @return parsed response or {@code null} if body isn't a JSON object
+     */
+    static TelegramResponse parse(InputStream in, Charset charset, long maxBytes)
+            throws IOException {
+        Scanner scanner = new Scanner(new InputStreamReader(
+                new LimitedInputStream(in, maxBytes), charset));
+        TelegramResponse response = new TelegramResponse();
+        try {
+            if (scanner.next() != '{') {
+                return null;
+            }
+            response.parseObject(scanner);
+        } catch (MalformedResponseException e) {
+            // Malformed or truncated response, keep fields parsed so far
+        }
+        return response;
+    }
+
+    private void parseObject(Scanner scanner) throws IOException, MalformedResponseException {
+        StringBuilder key = new StringBuilder();
+        while (scanner.nextKey(key)) {
+            if (contentEquals(key, "ok")) {
+                this.ok = scanner.nextBoolean();
+            } else if (contentEquals(key, "description")) {
+                this.description = scanner.nextString();
+            } else if (contentEquals(key, "error_code")) {
+                this.errorCode = scanner.nextInt();
+            } else if (contentEquals(key, "parameters") && scanner.peek() == '{') {
+                parseParameters(scanner, key);
+            } else if (contentEquals(key, "result")) {
+                parseResult(scanner, key);
+            } else {
+                scanner.skipValue();
+            }
+        }
+    }
+
+    private void parseParameters(Scanner scanner, StringBuilder key)
+            throws IOException, MalformedResponseException {
+        scanner.next();
+        while (scanner.nextKey(key)) {
+            if (contentEquals(key, "retry_after")) {
+                this.retryAfter = scanner.nextInt();
+            } else {
+                scanner.skipValue();
+            }
+        }
+    }
+
+    private void parseResult(Scanner scanner, StringBuilder key)
+            throws IOException, MalformedResponseException {
+        int c = scanner.peek();
+        if (c == '{') {
+            scanner.next();
+            String[] messageFileId = new String[1];
+            this.messageId = parseMessage(scanner, key, messageFileId);
+            this.fileId = messageFileId[0];
+        } else if (c == '[') {
+            scanner.next();
+            this.messageIds = new ArrayList<>();
+            this.fileIds = new ArrayList<>();
+            while (scanner.hasNextElement()) {
+                if (scanner.peek() == '{') {
+                    // Message
+                    scanner.next();
+                    String[] messageFileId = new String[1];
+                    this.messageIds.add(parseMessage(scanner, key, messageFileId));
+                    this.fileIds.add(messageFileId[0]);
+                } else {
+                    scanner.skipValue();
+                    this.messageIds.add(-1);
+                    this.fileIds.add(null);
+                }
+            }
+        } else {
+            scanner.skipValue();
+        }
+    }
+
+    // Parse message or message ID object, return message ID and put document file ID
+    private static int parseMessage(Scanner scanner, StringBuilder key, String[] fileId)
+            throws IOException, MalformedResponseException {
+        int messageId = -1;
+        while (scanner.nextKey(key)) {
+            if (contentEquals(key, "message_id")) {
+                messageId = scanner.nextInt();
+            } else if (contentEquals(key, "document") && scanner.peek() == '{') {
+                scanner.next();
+                while (scanner.nextKey(key)) {
+                    if (contentEquals(key, "file_id")) {
+                        fileId[0] = scanner.nextString();
+                    } else {
+                        scanner.skipValue();
+                    }
+                }
+            } else {
+                scanner.skipValue();
+            }
+        }
+        return messageId;
+    }
+
+    private static boolean contentEquals(StringBuilder key, String name) {
+        return key.length() == name.length() && name.contentEquals(key);
+    }
+
+    private static final class MalformedResponseException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        MalformedResponseException() {
+            // Shared instance, so no stack trace
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Minimal JSON pull scanner over a character stream.
+     */
+    private static final class Scanner {
+        private final static MalformedResponseException MALFORMED =
+                new MalformedResponseException();
+
+        private final Reader reader;
+        private int peeked = -2;
+        // Object or array is expected to continue with a comma
+        private boolean inside;
+
+        Scanner(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Next non-whitespace character
+        int peek() throws IOException, MalformedResponseException {
+            if (this.peeked == -2) {
+                int c;
+                do {
+                    c = this.reader.read();
+                } while (c == ' ' || c == '\t' || c == '\r' || c == '\n');
+                if (c < 0) {
+                    throw MALFORMED;
+                }
+                this.peeked = c;
+            }
+            return this.peeked;
+        }
+
+        int next() throws IOException, MalformedResponseException {
+            int c = peek();
+            this.peeked = -2;
+            if (c == '{' || c == '[') {
+                this.inside = false;
+            }
+            return c;
+        }
+
+        // Read next object member key, return false at the end of object
+        boolean nextKey(StringBuilder key) throws IOException, MalformedResponseException {
+            if (!hasNext('}')) {
+                return false;
+            }
+            key.setLength(0);
+            if (next() != '"') {
+                throw MALFORMED;
+            }
+            readString(key);
+            if (next() != ':') {
+                throw MALFORMED;
+            }
+            return true;
+        }
+
+        // Return false at the end of array
+        boolean hasNextElement() throws IOException, MalformedResponseException {
+            return hasNext(']');
+        }
+
+        private boolean hasNext(char end) throws IOException, MalformedResponseException {
+            int c = peek();
+            if (c == end) {
+                next();
+                this.inside = true;
+                return false;
+            }
+            if (this.inside) {
+                if (next() != ',') {
+                    throw MALFORMED;
+                }
+            }
+            this.inside = true;
+            return true;
+        }
+
+        boolean nextBoolean() throws IOException, MalformedResponseException {
+            int c = peek();
+            if (c != 't' && c != 'f') {
+                skipValue();
+                return false;
+            }
+            return readLiteral() == 't';
+        }
+
+        int nextInt() throws IOException, MalformedResponseException {
+            int c = peek();
+            if (c != '-' && (c < '0' || c > '9')) {
+                skipValue();
+                return -1;
+            }
+            next();
+            boolean negative = (c == '-');
+            long value = negative ? 0 : c - '0';
+            boolean fraction = false;
+            while (true) {
+                c = this.reader.read();
+                if (c >= '0' && c <= '9') {
+                    if (!fraction) {
+                        value = Math.min(value * 10 + (c - '0'), Integer.MAX_VALUE);
+                    }
+                } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    fraction = true;
+                } else {
+                    break;
+                }
+            }
+            unread(c);
+            return (int) (negative ? -value : value);
+        }
+
+        String nextString() throws IOException, MalformedResponseException {
+            if (peek() != '"') {
+                skipValue();
+                return null;
+            }
+            next();
+            StringBuilder value = new StringBuilder();
+            readString(value);
+            return value.toString();
+        }
+
+        void skipValue() throws IOException, MalformedResponseException {
+            int c = peek();
+            if (c == '{' || c == '[') {
+                // First bracket was already read as peeked character
+                this.peeked = -2;
+                int depth = 1;
+                do {
+                    c = this.reader.read();
+                    if (c < 0) {
+                        throw MALFORMED;
+                    } else if (c == '"') {
+                        readString(null);
+                    } else if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+                } while (depth > 0);
+            } else if (c == '"') {
+                next();
+                readString(null);
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                nextInt();
+            } else {
+                readLiteral();
+            }
+        }
+
+        private void unread(int c) throws MalformedResponseException {
+            if (c < 0) {
+                throw MALFORMED;
+            }
+            this.peeked = (c == ' ' || c == '\t' || c == '\r' || c == '\n') ? -2 : c;
+        }
+
+        // Read true, false or null literal, return its first character
+        private int readLiteral() throws IOException, MalformedResponseException {
+            int first = next();
+            String literal = (first == 't') ? "true" : (first == 'f') ? "false"
+                    : (first == 'n') ? "null" : null;
+            if (literal == null) {
+                throw MALFORMED;
+            }
+            for (int i = 1; i < literal.length(); i++) {
+                if (this.reader.read() != literal.charAt(i)) {
+                    throw MALFORMED;
+                }
+            }
+            return first;
+        }
+
+        // Read string after opening quote, append it to value if not null
+        private void readString(StringBuilder value)
+                throws IOException, MalformedResponseException {
+            while (true) {
+                int c = this.reader.read();
+                if (c < 0) {
+                    throw MALFORMED;
+                } else if (c == '"') {
+                    return;
+                } else if (c == '\\') {
+                    c = readEscape();
+                }
+                if (value != null) {
+                    value.append((char) c);
+                }
+            }
+        }
+
+        private int readEscape() throws IOException, MalformedResponseException {
+            int c = this.reader.read();
+            switch (c) {
+                case 'b': return '\b';
+                case 'f': return '\f';
+                case 'n': return '\n';
+                case 'r': return '\r';
+                case 't': return '\t';
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(this.reader.read(), 16);
+                        if (digit < 0) {
+                            throw MALFORMED;
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    return code;
+                default:
+                    if (c < 0) {
+                        throw MALFORMED;
+                    }
+                    return c;
+            }
+        }
+    }
+
+    /**
+     * Input stream ending after given number of bytes.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                this.remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, this.remaining));
+            if (n > 0) {
+                this.remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, this.remaining));
+            this.remaining -= skipped;
+            return skipped;
+        }
+    }
+}
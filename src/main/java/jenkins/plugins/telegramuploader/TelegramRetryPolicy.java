@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.NoHttpResponseException;
+
+/**
+ * Decides whether a failed Bot API request should be repeated and when.
+ *
+ * Requests are repeated after the time suggested by Bot API server in retry_after response
+ * parameter, or after exponentially growing delay with jitter for server errors and
+ * connection failures, until max attempts count or total request deadline is reached.
+ * Every attempt is limited by the request timeouts of the policy.
+ */
+final class TelegramRetryPolicy {
+    // Policy to send request just once
+    static final TelegramRetryPolicy NONE = new TelegramRetryPolicy(1, 0);
+
+    // Exponential backoff base and max delays
+    private final static long BASE_DELAY_MILLIS = 1000;
+    private final static long MAX_DELAY_MILLIS = 60 * 1000;
+
+    private final int maxAttempts;
+    private final long deadlineMillis;
+    private final TelegramTimeouts timeouts;
+
+    TelegramRetryPolicy(int maxAttempts, long deadlineSeconds) {
+        this(maxAttempts, deadlineSeconds, TelegramTimeouts.DEFAULT);
+    }
+
+    TelegramRetryPolicy(int maxAttempts, long deadlineSeconds, TelegramTimeouts timeouts) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.deadlineMillis = TimeUnit.SECONDS.toMillis(Math.max(deadlineSeconds, 0));
+        this.timeouts = timeouts;
+    }
+
+    int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    TelegramTimeouts getTimeouts() {
+        return timeouts;
+    }
+
+    // Policy to send request just once with the same timeouts
+    TelegramRetryPolicy once() {
+        return (this.maxAttempts > 1) ? new TelegramRetryPolicy(1, 0, this.timeouts) : this;
+    }
+
+    /**
+     * Get delay before the next attempt to send failed request.
+     *
+     * @param e request failure
+     * @param attempt number of failed attempt, starting from 1
+     * @param elapsedMillis time elapsed since the first attempt
+     * @return delay in milliseconds, or -1 if request shouldn't be repeated
+     */
+    long getRetryDelay(IOException e, int attempt, long elapsedMillis) {
+        if (attempt >= this.maxAttempts) {
+            return -1;
+        }
+        long delay;
+        if (e instanceof TelegramApiException) {
+            TelegramApiException apiException = (TelegramApiException) e;
+            if (apiException.getRetryAfter() >= 0) {
+                delay = TimeUnit.SECONDS.toMillis(apiException.getRetryAfter());
+            } else if (apiException.getStatusCode() >= 500
+                    || apiException.getStatusCode() == 429) {
+                delay = getBackoffDelay(attempt);
+            } else {
+                return -1;
+            }
+        } else if (isTransient(e)) {
+            delay = getBackoffDelay(attempt);
+        } else {
+            return -1;
+        }
+        return (elapsedMillis + delay <= this.deadlineMillis) ? delay : -1;
+    }
+
+    // Exponential backoff with "equal jitter": half of the delay is fixed, half is random
+    private static long getBackoffDelay(int attempt) {
+        long delay = Math.min(BASE_DELAY_MILLIS << Math.min(attempt - 1, 16), MAX_DELAY_MILLIS);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    // Connection failures and resets, but not timeouts
+    private static boolean isTransient(IOException e) {
+        return e instanceof NoHttpResponseException || e instanceof SocketException;
+    }
+}
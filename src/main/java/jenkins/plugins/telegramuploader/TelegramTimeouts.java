@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.Serializable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * Bot API request timeouts.
+ *
+ * Connect timeout is fixed, while read and total request timeouts grow with the size
+ * of the uploaded data, so big files sent over slow links aren't cut off, and small
+ * requests to the stalled server don't hang for long. Total request timeout covers the
+ * upload of request body too, which isn't limited by the read (socket) timeout. Time the
+ * upload waits for the plugin bandwidth limits isn't counted by the total request timeout.
+ */
+final class TelegramTimeouts implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Default timeouts in seconds and the slowest expected upload speed in KiB/s
+    final static int DEFAULT_CONNECT_TIMEOUT = 10;
+    final static int DEFAULT_READ_TIMEOUT = 60;
+    final static int DEFAULT_REQUEST_TIMEOUT = 120;
+    final static int DEFAULT_MIN_UPLOAD_SPEED = 64;
+
+    static final TelegramTimeouts DEFAULT = new TelegramTimeouts(DEFAULT_CONNECT_TIMEOUT,
+            DEFAULT_READ_TIMEOUT, DEFAULT_REQUEST_TIMEOUT, DEFAULT_MIN_UPLOAD_SPEED);
+
+    // Aborts requests which exceeded total request timeout
+    private static final ScheduledExecutorService TIMER =
+            Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(
+                    new DaemonThreadFactory(), "Telegram request timeout"));
+
+    // Timer of the request sent by the current thread, which writes the request body too
+    private static final ThreadLocal<RequestTimer> CURRENT = new ThreadLocal<>();
+
+    // Timeouts in milliseconds, 0 if not limited
+    private final long connectTimeoutMillis;
+    private final long readTimeoutMillis;
+    private final long requestTimeoutMillis;
+    // Min upload speed in bytes per second, 0 if timeouts don't depend on the data size
+    private final long minUploadSpeed;
+
+    TelegramTimeouts(int connectTimeoutSeconds, int readTimeoutSeconds,
+            int requestTimeoutSeconds, int minUploadSpeedKiB) {
+        this.connectTimeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(connectTimeoutSeconds, 0));
+        this.readTimeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(readTimeoutSeconds, 0));
+        this.requestTimeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(requestTimeoutSeconds, 0));
+        this.minUploadSpeed = Math.max(minUploadSpeedKiB, 0) * 1024L;
+    }
+
+    RequestConfig getRequestConfig(HttpHost httpProxy, long bytes) {
+        return RequestConfig.custom()
+                .setProxy(httpProxy)
+                .setConnectTimeout(toTimeout(this.connectTimeoutMillis))
+                .setSocketTimeout(toTimeout(scale(this.readTimeoutMillis, bytes)))
+                .build();
+    }
+
+    long getRequestTimeoutMillis(long bytes) {
+        return scale(this.requestTimeoutMillis, bytes);
+    }
+
+    /**
+     * Run the task if the request of given size sent by the current thread isn't done
+     * within total request timeout.
+     *
+     * @return timer to be cancelled when the request is done,
+     *         or {@code null} if total request time isn't limited
+     */
+    RequestTimer schedule(Runnable task, long bytes) {
+        long timeoutMillis = getRequestTimeoutMillis(bytes);
+        if (timeoutMillis <= 0) {
+            return null;
+        }
+        RequestTimer timer = new RequestTimer(task,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        CURRENT.set(timer);
+        timer.schedule();
+        return timer;
+    }
+
+    /**
+     * Extend total timeout of the request sent by the current thread by the time
+     * its upload waited for bandwidth.
+     */
+    static void extendCurrent(long nanos) {
+        RequestTimer timer = CURRENT.get();
+        if (timer != null) {
+            timer.extend(nanos);
+        }
+    }
+
+    // Add time to upload the data at min upload speed to the base timeout
+    private long scale(long baseMillis, long bytes) {
+        if (baseMillis <= 0 || bytes <= 0 || this.minUploadSpeed <= 0) {
+            return baseMillis;
+        }
+        return baseMillis + TimeUnit.SECONDS.toMillis(1) * bytes / this.minUploadSpeed;
+    }
+
+    // HTTP client timeouts are ints, 0 is infinite
+    private static int toTimeout(long millis) {
+        return (int) Math.min(millis, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Total request timeout, rescheduled on expiration if its deadline was extended.
+     */
+    static final class RequestTimer implements Runnable {
+        private final Runnable task;
+        private long deadlineNanos;
+        private ScheduledFuture<?> future;
+        private boolean cancelled;
+
+        private RequestTimer(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private synchronized void extend(long nanos) {
+            this.deadlineNanos += nanos;
+        }
+
+        // Schedule the check at the deadline, return false if the deadline is passed
+        private synchronized boolean schedule() {
+            long remainingNanos = this.deadlineNanos - System.nanoTime();
+            if (this.cancelled || remainingNanos <= 0) {
+                return false;
+            }
+            this.future = TIMER.schedule(this, remainingNanos, TimeUnit.NANOSECONDS);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (this.cancelled || schedule()) {
+                    return;
+                }
+            }
+            this.task.run();
+        }
+
+        /**
+         * Cancel the timer of the done request, called by the thread sent the request.
+         */
+        void cancel() {
+            synchronized (this) {
+                this.cancelled = true;
+                if (this.future != null) {
+                    this.future.cancel(false);
+                }
+            }
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+        }
+    }
+}
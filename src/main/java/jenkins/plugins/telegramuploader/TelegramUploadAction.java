@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+
+/**
+ * Results of asynchronous artifacts uploads to Telegram recorded on the build.
+ */
+public class TelegramUploadAction implements RunAction2 {
+    // Max recorded upload log size in characters
+    private final static int LOG_SIZE_LIMIT = 64 * 1024;
+
+    private final List<Result> results = new ArrayList<>();
+
+    private transient Run<?, ?> run;
+
+    static void record(Run<?, ?> build, String chatId, boolean success, String log)
+            throws IOException {
+        synchronized (build) {
+            TelegramUploadAction action = build.getAction(TelegramUploadAction.class);
+            if (action == null) {
+                action = new TelegramUploadAction();
+                build.addAction(action);
+            }
+            action.addResult(new Result(chatId, success, log));
+            build.save();
+        }
+    }
+
+    private synchronized void addResult(Result result) {
+        this.results.add(result);
+    }
+
+    public synchronized List<Result> getResults() {
+        return new ArrayList<>(results);
+    }
+
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> r) {
+        this.run = r;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> r) {
+        this.run = r;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return "document.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Telegram Upload";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "telegram-upload";
+    }
+
+    /**
+     * Result of the artifacts upload to the chat.
+     */
+    public static final class Result {
+        private final String chatId;
+        private final boolean success;
+        private final long time;
+        private final String log;
+
+        Result(String chatId, boolean success, String log) {
+            this.chatId = chatId;
+            this.success = success;
+            this.time = System.currentTimeMillis();
+            this.log = (log.length() > LOG_SIZE_LIMIT)
+                    ? "...\n" + log.substring(log.length() - LOG_SIZE_LIMIT) : log;
+        }
+
+        public String getChatId() {
+            return chatId;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public Date getDate() {
+            return new Date(time);
+        }
+
+        public String getLog() {
+            return log;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.AbortException;
+import hudson.Functions;
+import hudson.XmlFile;
+import hudson.model.Run;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+
+/**
+ * Durable queue of asynchronous artifacts uploads drained by a pool of controller threads.
+ *
+ * Each queued upload is persisted as XML file in the queue directory until it's done,
+ * so uploads which were queued or in progress on Jenkins shutdown are resumed on startup.
+ * Upload results and logs are recorded to the {@link TelegramUploadAction} of the build.
+ */
+final class TelegramUploadQueue {
+    private static final Logger LOGGER = Logger.getLogger(TelegramUploadQueue.class.getName());
+
+    /**
+     * Action to take when an upload is submitted to the full queue.
+     */
+    enum QueueFullAction {
+        WAIT("Wait for free space in the queue"),
+        UPLOAD_SYNCHRONOUSLY("Upload synchronously"),
+        REJECT("Reject upload");
+
+        private final String displayName;
+
+        QueueFullAction(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final File queueDir;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Item> pending = new LinkedHashMap<>();
+    private final Map<String, Item> inProgress = new LinkedHashMap<>();
+    private int maxDepth;
+    private QueueFullAction queueFullAction;
+    private volatile boolean stopped;
+
+    TelegramUploadQueue(File queueDir, int workers, int maxDepth, QueueFullAction queueFullAction) {
+        this.queueDir = queueDir;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Telegram upload queue"));
+        this.maxDepth = maxDepth;
+        this.queueFullAction = queueFullAction;
+    }
+
+    synchronized void configure(int workers, int maxDepth, QueueFullAction queueFullAction) {
+        if (workers > this.executor.getMaximumPoolSize()) {
+            this.executor.setMaximumPoolSize(workers);
+            this.executor.setCorePoolSize(workers);
+        } else {
+            this.executor.setCorePoolSize(workers);
+            this.executor.setMaximumPoolSize(workers);
+        }
+        this.maxDepth = maxDepth;
+        this.queueFullAction = queueFullAction;
+        notifyAll();
+    }
+
+    synchronized QueueFullAction getQueueFullAction() {
+        return queueFullAction;
+    }
+
+    /**
+     * Put artifacts upload to the queue.
+     *
+     * @return true if upload was queued, false if queue is full and upload wasn't queued
+     */
+    boolean offer(Run<?, ?> build, TelegramUploader uploader, String caption, PrintStream logger)
+            throws IOException, InterruptedException {
+        Item item = new Item(build.getExternalizableId(), uploader, caption);
+        synchronized (this) {
+            while (!this.stopped && isFull()) {
+                if (this.queueFullAction != QueueFullAction.WAIT) {
+                    return false;
+                }
+                logger.println("Waiting for free space in the Telegram upload queue");
+                wait();
+            }
+            if (this.stopped) {
+                throw new AbortException("Telegram upload queue is stopped");
+            }
+            getItemFile(item.id).write(item);
+            this.pending.put(item.id, item);
+            logger.println("Artifacts upload to the Telegram chat " + uploader.getChatId()
+                    + " is queued, " + this.pending.size() + " uploads are pending");
+        }
+        this.executor.execute(() -> process(item));
+        return true;
+    }
+
+    // Resume uploads persisted in the queue directory
+    void resume() {
+        File[] itemFiles = this.queueDir.listFiles((dir, name) -> name.endsWith(".xml"));
+        if (itemFiles == null) {
+            return;
+        }
+        Arrays.sort(itemFiles, Comparator.comparingLong(File::lastModified));
+        for (File itemFile : itemFiles) {
+            Item item;
+            try {
+                item = (Item) new XmlFile(itemFile).read();
+            } catch (IOException | ClassCastException e) {
+                LOGGER.log(Level.WARNING, "Can't load queued Telegram upload " + itemFile, e);
+                continue;
+            }
+            synchronized (this) {
+                if (this.pending.containsKey(item.id) || this.inProgress.containsKey(item.id)) {
+                    continue;
+                }
+                this.pending.put(item.id, item);
+            }
+            LOGGER.log(Level.INFO, "Resuming queued Telegram upload for {0}", item.buildId);
+            this.executor.execute(() -> process(item));
+        }
+    }
+
+    // Stop processing, uploads in progress are interrupted and kept in the queue directory
+    void stop() {
+        synchronized (this) {
+            this.stopped = true;
+            notifyAll();
+        }
+        this.executor.shutdownNow();
+    }
+
+    synchronized int getPendingCount() {
+        return this.pending.size();
+    }
+
+    synchronized int getInProgressCount() {
+        return this.inProgress.size();
+    }
+
+    synchronized int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    synchronized List<Item> getPendingItems() {
+        return new ArrayList<>(this.pending.values());
+    }
+
+    synchronized List<Item> getInProgressItems() {
+        return new ArrayList<>(this.inProgress.values());
+    }
+
+    private boolean isFull() {
+        return this.pending.size() + this.inProgress.size() >= this.maxDepth;
+    }
+
+    private void process(Item item) {
+        // Uploads stay queued while Bot API server is unavailable instead of failing
+        try {
+            TelegramUploader.awaitBotApiServer();
+        } catch (InterruptedException e) {
+            LOGGER.log(Level.INFO, "Queued Telegram upload for {0} was interrupted", item.buildId);
+            return;
+        }
+        synchronized (this) {
+            if (this.stopped) {
+                return;
+            }
+            this.pending.remove(item.id);
+            this.inProgress.put(item.id, item);
+            item.startTime = System.currentTimeMillis();
+        }
+        boolean done = false;
+        try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+            Run<?, ?> build = Run.fromExternalizableId(item.buildId);
+            if (build == null) {
+                LOGGER.log(Level.WARNING, "Dropping queued Telegram upload for {0}: "
+                        + "build is not found", item.buildId);
+                done = true;
+                return;
+            }
+            ByteArrayOutputStream log = new ByteArrayOutputStream();
+            StreamTaskListener listener = new StreamTaskListener(log, StandardCharsets.UTF_8);
+            boolean success = false;
+            try {
+                item.uploader.upload(build, null, item.caption, listener);
+                success = true;
+            } catch (AbortException e) {
+                listener.getLogger().println(e.getMessage());
+            } catch (IOException | RuntimeException e) {
+                listener.getLogger().println("Can't upload artifacts to Telegram: "
+                        + Functions.printThrowable(e));
+            }
+            listener.getLogger().flush();
+            if (this.stopped) {
+                // Upload was interrupted by shutdown, it will be resumed on startup
+                return;
+            }
+            TelegramUploadAction.record(build, item.uploader.getChatId(), success,
+                    log.toString("UTF-8"));
+            done = true;
+        } catch (InterruptedException e) {
+            LOGGER.log(Level.INFO, "Queued Telegram upload for {0} was interrupted", item.buildId);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Queued Telegram upload for " + item.buildId + " failed", e);
+            done = true;
+        } finally {
+            if (done) {
+                try {
+                    getItemFile(item.id).delete();
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Can't delete queued Telegram upload " + item.id, e);
+                }
+            }
+            synchronized (this) {
+                this.inProgress.remove(item.id);
+                notifyAll();
+            }
+        }
+    }
+
+    private XmlFile getItemFile(String id) {
+        return new XmlFile(new File(this.queueDir, id + ".xml"));
+    }
+
+    /**
+     * Queued artifacts upload of the build.
+     */
+    static final class Item {
+        private final String id;
+        private final String buildId;
+        private final TelegramUploader uploader;
+        private final String caption;
+        private final long queueTime;
+        private transient long startTime;
+
+        Item(String buildId, TelegramUploader uploader, String caption) {
+            this.id = UUID.randomUUID().toString();
+            this.buildId = buildId;
+            this.uploader = uploader;
+            this.caption = caption;
+            this.queueTime = System.currentTimeMillis();
+        }
+
+        public String getBuildId() {
+            return buildId;
+        }
+
+        public String getChatId() {
+            return uploader.getChatId();
+        }
+
+        public long getQueueTime() {
+            return queueTime;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+
+/**
+ * Pipeline step uploading artifacts to Telegram without blocking the Pipeline thread.
+ *
+ * Upload is run by the plugin thread pool and the step is completed when it's done,
+ * so the step neither holds the CPS thread nor needs a node. Stopped step aborts
+ * in-flight Bot API requests.
+ */
+public class TelegramUploadStep extends Step {
+    private final TelegramUploader uploader;
+
+    @DataBoundConstructor
+    public TelegramUploadStep(String chatId, String filter) {
+        this.uploader = new TelegramUploader(chatId, filter);
+    }
+
+    public String getChatId() {
+        return uploader.getChatId();
+    }
+
+    public String getFilter() {
+        return uploader.getFilter();
+    }
+
+    public String getExcludes() {
+        return uploader.getExcludes();
+    }
+
+    @DataBoundSetter
+    public void setExcludes(String excludes) {
+        uploader.setExcludes(excludes);
+    }
+
+    public int getMaxArtifacts() {
+        return uploader.getMaxArtifacts();
+    }
+
+    @DataBoundSetter
+    public void setMaxArtifacts(int maxArtifacts) {
+        uploader.setMaxArtifacts(maxArtifacts);
+    }
+
+    public String getArtifactsOrder() {
+        return uploader.getArtifactsOrder();
+    }
+
+    @DataBoundSetter
+    public void setArtifactsOrder(String artifactsOrder) {
+        uploader.setArtifactsOrder(artifactsOrder);
+    }
+
+    public String getForwardChatIds() {
+        return uploader.getForwardChatIds();
+    }
+
+    @DataBoundSetter
+    public void setForwardChatIds(String forwardChatIds) {
+        uploader.setForwardChatIds(forwardChatIds);
+    }
+
+    public String getCaption() {
+        return uploader.getCaption();
+    }
+
+    @DataBoundSetter
+    public void setCaption(String caption) {
+        uploader.setCaption(caption);
+    }
+
+    public boolean isSilent() {
+        return uploader.isSilent();
+    }
+
+    @DataBoundSetter
+    public void setSilent(boolean silent) {
+        uploader.setSilent(silent);
+    }
+
+    public boolean isFailBuildIfUploadFailed() {
+        return uploader.isFailBuildIfUploadFailed();
+    }
+
+    @DataBoundSetter
+    public void setFailBuildIfUploadFailed(boolean failBuildIfUploadFailed) {
+        uploader.setFailBuildIfUploadFailed(failBuildIfUploadFailed);
+    }
+
+    public boolean isSendLinkIfUploadSizeLimitExceeded() {
+        return uploader.isSendLinkIfUploadSizeLimitExceeded();
+    }
+
+    @DataBoundSetter
+    public void setSendLinkIfUploadSizeLimitExceeded(boolean sendLinkIfUploadSizeLimitExceeded) {
+        uploader.setSendLinkIfUploadSizeLimitExceeded(sendLinkIfUploadSizeLimitExceeded);
+    }
+
+    public int getUploadParallelism() {
+        return uploader.getUploadParallelism();
+    }
+
+    @DataBoundSetter
+    public void setUploadParallelism(int uploadParallelism) {
+        uploader.setUploadParallelism(uploadParallelism);
+    }
+
+    public boolean isUploadFromAgent() {
+        return uploader.isUploadFromAgent();
+    }
+
+    @DataBoundSetter
+    public void setUploadFromAgent(boolean uploadFromAgent) {
+        uploader.setUploadFromAgent(uploadFromAgent);
+    }
+
+    public boolean isReuseUploadedFiles() {
+        return uploader.isReuseUploadedFiles();
+    }
+
+    @DataBoundSetter
+    public void setReuseUploadedFiles(boolean reuseUploadedFiles) {
+        uploader.setReuseUploadedFiles(reuseUploadedFiles);
+    }
+
+    public String getUnchangedArtifacts() {
+        return uploader.getUnchangedArtifacts();
+    }
+
+    @DataBoundSetter
+    public void setUnchangedArtifacts(String unchangedArtifacts) {
+        uploader.setUnchangedArtifacts(unchangedArtifacts);
+    }
+
+    public boolean isSendAsMediaGroup() {
+        return uploader.isSendAsMediaGroup();
+    }
+
+    @DataBoundSetter
+    public void setSendAsMediaGroup(boolean sendAsMediaGroup) {
+        uploader.setSendAsMediaGroup(sendAsMediaGroup);
+    }
+
+    public boolean isCaptionOnLastGroupItem() {
+        return uploader.isCaptionOnLastGroupItem();
+    }
+
+    @DataBoundSetter
+    public void setCaptionOnLastGroupItem(boolean captionOnLastGroupItem) {
+        uploader.setCaptionOnLastGroupItem(captionOnLastGroupItem);
+    }
+
+    public boolean isCopyForwardedArtifacts() {
+        return uploader.isCopyForwardedArtifacts();
+    }
+
+    @DataBoundSetter
+    public void setCopyForwardedArtifacts(boolean copyForwardedArtifacts) {
+        uploader.setCopyForwardedArtifacts(copyForwardedArtifacts);
+    }
+
+    public boolean isUseLeastLoadedBot() {
+        return uploader.isUseLeastLoadedBot();
+    }
+
+    @DataBoundSetter
+    public void setUseLeastLoadedBot(boolean useLeastLoadedBot) {
+        uploader.setUseLeastLoadedBot(useLeastLoadedBot);
+    }
+
+    public boolean isSplitOversizedArtifacts() {
+        return uploader.isSplitOversizedArtifacts();
+    }
+
+    @DataBoundSetter
+    public void setSplitOversizedArtifacts(boolean splitOversizedArtifacts) {
+        uploader.setSplitOversizedArtifacts(splitOversizedArtifacts);
+    }
+
+    public boolean isBundleArtifacts() {
+        return uploader.isBundleArtifacts();
+    }
+
+    @DataBoundSetter
+    public void setBundleArtifacts(boolean bundleArtifacts) {
+        uploader.setBundleArtifacts(bundleArtifacts);
+    }
+
+    public int getBundleCompressionLevel() {
+        return uploader.getBundleCompressionLevel();
+    }
+
+    @DataBoundSetter
+    public void setBundleCompressionLevel(int bundleCompressionLevel) {
+        uploader.setBundleCompressionLevel(bundleCompressionLevel);
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new Execution(context, this.uploader);
+    }
+
+    /**
+     * Upload run by the plugin thread pool, completing the step from the upload thread.
+     */
+    private static final class Execution extends StepExecution {
+        private static final long serialVersionUID = 1L;
+
+        // Upload isn't resumable, so nothing of it is persisted with the Pipeline
+        private final transient TelegramUploader uploader;
+        private transient volatile UploadCancellation cancellation;
+        private transient volatile Future<?> upload;
+
+        Execution(StepContext context, TelegramUploader uploader) {
+            super(context);
+            this.uploader = uploader;
+        }
+
+        @Override
+        public boolean start() throws Exception {
+            StepContext context = getContext();
+            Run<?, ?> run = context.get(Run.class);
+            TaskListener listener = context.get(TaskListener.class);
+            // Workspace is available only if step is run on a node
+            FilePath workspace = context.get(FilePath.class);
+            // Step environment includes variables set by enclosing withEnv steps
+            EnvVars environment = context.get(EnvVars.class);
+            UploadCancellation uploadCancellation = new UploadCancellation();
+            this.cancellation = uploadCancellation;
+            this.upload = DescriptorImpl.EXECUTOR.submit(() -> {
+                UploadCancellation.setCurrent(uploadCancellation);
+                try {
+                    uploader.perform(run, workspace, environment, null, listener);
+                    context.onSuccess(null);
+                } catch (Throwable t) {
+                    context.onFailure(t);
+                } finally {
+                    UploadCancellation.setCurrent(null);
+                }
+            });
+            return false;
+        }
+
+        @Override
+        public void stop(Throwable cause) throws Exception {
+            UploadCancellation uploadCancellation = this.cancellation;
+            if (uploadCancellation != null) {
+                uploadCancellation.cancel();
+            }
+            Future<?> upload = this.upload;
+            if (upload != null) {
+                upload.cancel(true);
+            }
+            getContext().onFailure(cause);
+        }
+
+        @Override
+        public void onResume() {
+            getContext().onFailure(new AbortException("Telegram upload was interrupted "
+                    + "by Jenkins restart"));
+        }
+
+        @Override
+        public String getStatus() {
+            Future<?> upload = this.upload;
+            return (upload == null) ? "not started"
+                    : upload.isDone() ? "completed" : "uploading artifacts to Telegram";
+        }
+    }
+
+    @Extension(optional = true)
+    public static final class DescriptorImpl extends StepDescriptor {
+        // Threads running uploads of all steps, mostly waiting on network
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+                new NamingThreadFactory(new DaemonThreadFactory(), "Telegram upload step"));
+
+        @Override
+        public String getFunctionName() {
+            return "telegramUpload";
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Upload artifacts to Telegram";
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(Run.class,
+                    TaskListener.class)));
+        }
+
+        @Override
+        public String getHelpFile(String fieldName) {
+            // Fields are shared with the post-build action
+            TelegramUploader.TelegramUploaderDescriptor descriptor = Jenkins.get()
+                    .getDescriptorByType(TelegramUploader.TelegramUploaderDescriptor.class);
+            return (descriptor != null) ? descriptor.getHelpFile(fieldName)
+                    : super.getHelpFile(fieldName);
+        }
+
+        public FormValidation doCheckChatId(@QueryParameter String value) {
+            return FormValidation.validateRequired(value);
+        }
+
+        public FormValidation doCheckMaxArtifacts(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public ListBoxModel doFillArtifactsOrderItems() {
+            return TelegramUploader.TelegramUploaderDescriptor.getArtifactsOrderItems();
+        }
+
+        public ListBoxModel doFillUnchangedArtifactsItems() {
+            return TelegramUploader.TelegramUploaderDescriptor.getUnchangedArtifactsItems();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import hudson.model.InvisibleAction;
+import hudson.model.Run;
+
+/**
+ * Digests and message IDs of artifacts uploaded by the build to Telegram chats,
+ * so the next builds of the job could skip artifacts which weren't changed since.
+ */
+public class TelegramUploadedArtifactsAction extends InvisibleAction {
+    // Max number of previous builds looked through for artifacts uploaded to the chat
+    private final static int MAX_PREVIOUS_BUILDS = 20;
+
+    // Chat ID -> artifact path -> uploaded artifact
+    private final Map<String, Map<String, UploadedArtifact>> chats = new HashMap<>();
+
+    // Get artifacts uploaded to the chat by the last previous build which uploaded anything
+    static Map<String, UploadedArtifact> getPrevious(Run<?, ?> build, String chatId) {
+        Run<?, ?> previous = build.getPreviousBuild();
+        for (int i = 0; previous != null && i < MAX_PREVIOUS_BUILDS; i++) {
+            TelegramUploadedArtifactsAction action =
+                    previous.getAction(TelegramUploadedArtifactsAction.class);
+            Map<String, UploadedArtifact> artifacts = (action != null) ? action.get(chatId) : null;
+            if (artifacts != null) {
+                return artifacts;
+            }
+            previous = previous.getPreviousBuild();
+        }
+        return Collections.emptyMap();
+    }
+
+    static void record(Run<?, ?> build, String chatId, Map<String, UploadedArtifact> artifacts)
+            throws IOException {
+        synchronized (build) {
+            TelegramUploadedArtifactsAction action =
+                    build.getAction(TelegramUploadedArtifactsAction.class);
+            if (action == null) {
+                action = new TelegramUploadedArtifactsAction();
+                build.addAction(action);
+            }
+            action.put(chatId, artifacts);
+            build.save();
+        }
+    }
+
+    private synchronized Map<String, UploadedArtifact> get(String chatId) {
+        Map<String, UploadedArtifact> artifacts = this.chats.get(chatId);
+        return (artifacts != null) ? new HashMap<>(artifacts) : null;
+    }
+
+    private synchronized void put(String chatId, Map<String, UploadedArtifact> artifacts) {
+        this.chats.computeIfAbsent(chatId, k -> new HashMap<>()).putAll(artifacts);
+    }
+
+    /**
+     * Artifact uploaded to the chat.
+     */
+    static final class UploadedArtifact {
+        // Content SHA-256 digest, null for artifacts recorded by older plugin versions
+        private final String sha256;
+        // Uploaded message ID, -1 if not known
+        private final int messageId;
+
+        UploadedArtifact(String sha256, int messageId) {
+            this.sha256 = sha256;
+            this.messageId = messageId;
+        }
+
+        String getSha256() {
+            return sha256;
+        }
+
+        int getMessageId() {
+            return messageId;
+        }
+    }
+}
@@ -26,40 +26,62 @@
 
 package jenkins.plugins.telegramuploader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.PrintStream;
+import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.annotation.Nonnull;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.CredentialsProvider;
-import org.apache.http.client.HttpClient;
 import org.apache.http.client.ResponseHandler;
-import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.HttpMultipartMode;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.entity.mime.content.ContentBody;
+import org.apache.http.entity.mime.content.StringBody;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
@@ -73,6 +95,9 @@ import hudson.FilePath;
 import hudson.Functions;
 import hudson.Launcher;
 import hudson.Util;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
 import hudson.model.AbstractBuild;
 import hudson.model.AbstractProject;
 import hudson.model.Result;
@@ -84,18 +109,38 @@ import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.BuildStepMonitor;
 import hudson.tasks.Notifier;
 import hudson.tasks.Publisher;
+import hudson.util.DaemonThreadFactory;
 import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import hudson.util.NamingThreadFactory;
 import hudson.util.Secret;
+import jenkins.plugins.telegramuploader.TelegramUploadedArtifactsAction.UploadedArtifact;
 import jenkins.model.Jenkins;
+import jenkins.scm.RunWithSCM;
 import jenkins.tasks.SimpleBuildStep;
 import jenkins.util.VirtualFile;
-import net.sf.json.JSONException;
 import net.sf.json.JSONObject;
 
 /**
  * @author Victor Antonovich (v.antonovich@gmail.com)
  */
 public class TelegramUploader extends Notifier implements SimpleBuildStep {
+    private static final Logger LOGGER = Logger.getLogger(TelegramUploader.class.getName());
+
+    // Max number of cached changelogs
+    private final static int CHANGELOG_CACHE_SIZE = 100;
+
+    // Changelogs cached by build ID and size limit, so they aren't rebuilt by each upload
+    private static final Map<String, String> CHANGELOG_CACHE =
+            new LinkedHashMap<String, String>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > CHANGELOG_CACHE_SIZE;
+                }
+            };
+
     // Telegram Bot API server URI
     private final static String TELEGRAM_BOT_API_SERVER_URI = "https://api.telegram.org";
 
@@ -107,10 +152,28 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
     // (https://core.telegram.org/bots/api#using-a-local-bot-api-server)
     private final static long LOCAL_BOT_API_SERVER_SEND_FILE_SIZE_LIMIT = 2000 * 1024 * 1024;
 
+    // sendMediaGroup method max number of media items
+    // (https://core.telegram.org/bots/api#sendmediagroup)
+    private final static int SEND_MEDIA_GROUP_SIZE_LIMIT = 10;
+
+    // forwardMessages and copyMessages methods max number of messages
+    // (https://core.telegram.org/bots/api#forwardmessages)
+    private final static int FORWARD_MESSAGES_SIZE_LIMIT = 100;
+
     // sendDocument method document caption size limit
     // (https://core.telegram.org/bots/api#senddocument)
     private final static int SEND_DOCUMENT_CAPTION_SIZE_LIMIT = 1024;
 
+    // sendMessage method text size limit
+    // (https://core.telegram.org/bots/api#sendmessage)
+    private final static int SEND_MESSAGE_TEXT_SIZE_LIMIT = 4096;
+
+    // Max number of Bot API response body bytes to parse, the rest is discarded
+    private final static long RESPONSE_SIZE_LIMIT = 256 * 1024;
+
+    // Default zip compression level of bundled artifacts
+    private final static int DEFAULT_BUNDLE_COMPRESSION_LEVEL = 6;
+
     // Environment variable name for changelog substitution
     private final static String ENV_VAR_CHANGELOG_NAME = "TELEGRAM_UPLOADER_CHANGELOG";
 
@@ -118,9 +181,24 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
     private String forwardChatIds;
     private String caption;
     private String filter;
+    private String excludes;
+    private int maxArtifacts;
+    private String artifactsOrder;
     private boolean silent;
     private boolean failBuildIfUploadFailed;
     private boolean sendLinkIfUploadSizeLimitExceeded;
+    private int uploadParallelism;
+    private boolean uploadFromAgent;
+    private boolean reuseUploadedFiles;
+    private String unchangedArtifacts;
+    private boolean sendAsMediaGroup;
+    private boolean captionOnLastGroupItem;
+    private boolean copyForwardedArtifacts;
+    private boolean uploadAsynchronously;
+    private boolean useLeastLoadedBot;
+    private boolean splitOversizedArtifacts;
+    private boolean bundleArtifacts;
+    private int bundleCompressionLevel = DEFAULT_BUNDLE_COMPRESSION_LEVEL;
 
     @DataBoundConstructor
     public TelegramUploader(String chatId, String filter) {
@@ -153,6 +231,46 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
         this.filter = filter;
     }
 
+    public String getExcludes() {
+        return excludes;
+    }
+
+    @DataBoundSetter
+    public void setExcludes(String excludes) {
+        this.excludes = excludes;
+    }
+
+    public int getMaxArtifacts() {
+        return maxArtifacts;
+    }
+
+    @DataBoundSetter
+    public void setMaxArtifacts(int maxArtifacts) {
+        this.maxArtifacts = maxArtifacts;
+    }
+
+    public String getArtifactsOrder() {
+        return getArtifactsMatcherOrder().name();
+    }
+
+    @DataBoundSetter
+    public void setArtifactsOrder(String artifactsOrder) {
+        this.artifactsOrder = artifactsOrder;
+    }
+
+    private ArtifactsMatcher.Order getArtifactsMatcherOrder() {
+        try {
+            return ArtifactsMatcher.Order.valueOf(artifactsOrder);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ArtifactsMatcher.Order.NONE;
+        }
+    }
+
+    ArtifactsMatcher getArtifactsMatcher() {
+        return new ArtifactsMatcher(this.filter, this.excludes, this.maxArtifacts,
+                getArtifactsMatcherOrder());
+    }
+
     public String getCaption() {
         return caption;
     }
@@ -189,6 +307,126 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
         this.sendLinkIfUploadSizeLimitExceeded = sendLinkIfUploadSizeLimitExceeded;
     }
 
+    public int getUploadParallelism() {
+        return uploadParallelism;
+    }
+
+    @DataBoundSetter
+    public void setUploadParallelism(int uploadParallelism) {
+        this.uploadParallelism = uploadParallelism;
+    }
+
+    public boolean isUploadFromAgent() {
+        return uploadFromAgent;
+    }
+
+    @DataBoundSetter
+    public void setUploadFromAgent(boolean uploadFromAgent) {
+        this.uploadFromAgent = uploadFromAgent;
+    }
+
+    public boolean isReuseUploadedFiles() {
+        return reuseUploadedFiles;
+    }
+
+    @DataBoundSetter
+    public void setReuseUploadedFiles(boolean reuseUploadedFiles) {
+        this.reuseUploadedFiles = reuseUploadedFiles;
+    }
+
+    public String getUnchangedArtifacts() {
+        return getUnchangedArtifactsAction().name();
+    }
+
+    @DataBoundSetter
+    public void setUnchangedArtifacts(String unchangedArtifacts) {
+        this.unchangedArtifacts = unchangedArtifacts;
+    }
+
+    private ChangedArtifacts.Unchanged getUnchangedArtifactsAction() {
+        return getUnchangedArtifactsAction(unchangedArtifacts);
+    }
+
+    private static ChangedArtifacts.Unchanged getUnchangedArtifactsAction(String value) {
+        try {
+            return ChangedArtifacts.Unchanged.valueOf(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ChangedArtifacts.Unchanged.UPLOAD;
+        }
+    }
+
+    public boolean isSendAsMediaGroup() {
+        return sendAsMediaGroup;
+    }
+
+    @DataBoundSetter
+    public void setSendAsMediaGroup(boolean sendAsMediaGroup) {
+        this.sendAsMediaGroup = sendAsMediaGroup;
+    }
+
+    public boolean isCaptionOnLastGroupItem() {
+        return captionOnLastGroupItem;
+    }
+
+    @DataBoundSetter
+    public void setCaptionOnLastGroupItem(boolean captionOnLastGroupItem) {
+        this.captionOnLastGroupItem = captionOnLastGroupItem;
+    }
+
+    public boolean isCopyForwardedArtifacts() {
+        return copyForwardedArtifacts;
+    }
+
+    @DataBoundSetter
+    public void setCopyForwardedArtifacts(boolean copyForwardedArtifacts) {
+        this.copyForwardedArtifacts = copyForwardedArtifacts;
+    }
+
+    public boolean isUploadAsynchronously() {
+        return uploadAsynchronously;
+    }
+
+    @DataBoundSetter
+    public void setUploadAsynchronously(boolean uploadAsynchronously) {
+        this.uploadAsynchronously = uploadAsynchronously;
+    }
+
+    public boolean isUseLeastLoadedBot() {
+        return useLeastLoadedBot;
+    }
+
+    @DataBoundSetter
+    public void setUseLeastLoadedBot(boolean useLeastLoadedBot) {
+        this.useLeastLoadedBot = useLeastLoadedBot;
+    }
+
+    public boolean isSplitOversizedArtifacts() {
+        return splitOversizedArtifacts;
+    }
+
+    @DataBoundSetter
+    public void setSplitOversizedArtifacts(boolean splitOversizedArtifacts) {
+        this.splitOversizedArtifacts = splitOversizedArtifacts;
+    }
+
+    public boolean isBundleArtifacts() {
+        return bundleArtifacts;
+    }
+
+    @DataBoundSetter
+    public void setBundleArtifacts(boolean bundleArtifacts) {
+        this.bundleArtifacts = bundleArtifacts;
+    }
+
+    public int getBundleCompressionLevel() {
+        return bundleCompressionLevel;
+    }
+
+    @DataBoundSetter
+    public void setBundleCompressionLevel(int bundleCompressionLevel) {
+        this.bundleCompressionLevel = bundleCompressionLevel;
+    }
+
     @Override
     public BuildStepMonitor getRequiredMonitorService() {
         return BuildStepMonitor.NONE;
@@ -202,6 +440,14 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
     @Override
     public void perform(Run<?, ?> build, FilePath workspace, Launcher launcher, TaskListener listener)
             throws InterruptedException, IOException {
+        perform(build, workspace, null, launcher, listener);
+    }
+
+    // Caption is expanded with given environment, which includes variables set by Pipeline
+    // withEnv step, or with the build environment if it isn't given
+    @Override
+    public void perform(Run<?, ?> build, FilePath workspace, EnvVars environment,
+            Launcher launcher, TaskListener listener) throws InterruptedException, IOException {
         PrintStream logger = listener.getLogger();
 
         Result buildResult = build.getResult();
@@ -211,34 +457,20 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
             return;
         }
 
-        String artifactsGlob = Util.fixEmptyAndTrim(this.filter);
-        if (artifactsGlob == null || artifactsGlob.isEmpty()) {
-            artifactsGlob = "**";
-        }
-
-        VirtualFile artifactsRoot = build.getArtifactManager().root();
-        String[] artifacts = null;
-        try {
-            artifacts = artifactsRoot.list(artifactsGlob);
-        } catch (IOException e) {
-            doFailAction(logger, "Can't list artifacts: " + e.getMessage());
-            return;
-        }
-
-        if (artifacts.length == 0) {
-            doFailAction(logger, "No artifacts are matched by given filter for upload");
-            return;
-        }
-
         String expandedCaption = Util.fixEmptyAndTrim(this.caption);
         if (expandedCaption != null) {
             try {
-                EnvVars env = build.getEnvironment(listener);
-                expandedCaption = env.expand(expandedCaption);
-                int changeLogSizeLimit = SEND_DOCUMENT_CAPTION_SIZE_LIMIT - expandedCaption.length();
-                String changeLog = getChangeLog(build, changeLogSizeLimit);
-                env.addLine(ENV_VAR_CHANGELOG_NAME + "=" + changeLog);
+                EnvVars env = (environment != null) ? new EnvVars(environment)
+                        : build.getEnvironment(listener);
                 expandedCaption = env.expand(expandedCaption);
+                // Changelog is built only if caption refers to it
+                if (expandedCaption.contains(ENV_VAR_CHANGELOG_NAME)) {
+                    int changeLogSizeLimit =
+                            SEND_DOCUMENT_CAPTION_SIZE_LIMIT - expandedCaption.length();
+                    String changeLog = getChangeLog(build, changeLogSizeLimit);
+                    env.addLine(ENV_VAR_CHANGELOG_NAME + "=" + changeLog);
+                    expandedCaption = env.expand(expandedCaption);
+                }
             } catch (Exception e) {
                 doFailAction(logger, "Can't expand document caption '" + expandedCaption +
                         "': " + e.getMessage());
@@ -246,6 +478,46 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
             }
         }
 
+        // Asynchronous upload from agent is rejected by the upload
+        if (this.uploadAsynchronously && !this.uploadFromAgent) {
+            ArtifactsMatcher.Listing artifacts = listArtifacts(build,
+                    build.getArtifactManager().root(), logger);
+            if (artifacts == null) {
+                return;
+            }
+            artifacts.close();
+            TelegramUploadQueue uploadQueue = getDescriptor().getUploadQueue();
+            if (uploadQueue.offer(build, this, expandedCaption, logger)) {
+                return;
+            }
+            if (uploadQueue.getQueueFullAction()
+                    != TelegramUploadQueue.QueueFullAction.UPLOAD_SYNCHRONOUSLY) {
+                doFailAction(logger, "Can't queue artifacts upload to Telegram: "
+                        + "upload queue is full");
+                return;
+            }
+            logger.println("Telegram upload queue is full, uploading artifacts synchronously");
+        }
+
+        upload(build, workspace, expandedCaption, listener);
+    }
+
+    // Upload build artifacts, workspace is used only if artifacts are uploaded from agent
+    void upload(Run<?, ?> build, FilePath workspace, String expandedCaption,
+            TaskListener listener) throws InterruptedException, IOException {
+        long startTime = System.nanoTime();
+        try (TelegramTransport transport = getDescriptor().acquireTransport()) {
+            doUpload(build, workspace, expandedCaption, transport, listener);
+        } finally {
+            TelegramUploaderMetrics.get().recordUpload(System.nanoTime() - startTime);
+        }
+    }
+
+    private void doUpload(Run<?, ?> build, FilePath workspace, String expandedCaption,
+            TelegramTransport transport, TaskListener listener)
+                    throws InterruptedException, IOException {
+        PrintStream logger = listener.getLogger();
+
         TelegramUploaderDescriptor descriptor = getDescriptor();
 
         String botApiServerUri = resolveBotApiServerUri(descriptor.getBotApiServerUri());
@@ -258,149 +530,738 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
             return;
         }
 
-        String botToken = Secret.toString(descriptor.getBotToken());
-        String httpProxyPassword = Secret.toString(descriptor.getHttpProxyPassword());
-
-        try (CloseableHttpClient httpClient = getHttpClient(httpProxy,
-                descriptor.getHttpProxyUser(), httpProxyPassword)) {
-            for (String artifact : artifacts) {
-                JSONObject telegramResponse = null;
-                VirtualFile artifactVirtualFile = artifactsRoot.child(artifact);
-                // Check for Telegram upload file size limit
-                long sendFileSizeLimit = isTelegramBotApiServerUri(botApiServerUri)
-                        ? TELEGRAM_BOT_API_SERVER_SEND_FILE_SIZE_LIMIT
-                                : LOCAL_BOT_API_SERVER_SEND_FILE_SIZE_LIMIT;
-                if (artifactVirtualFile.length() > sendFileSizeLimit) {
-                    // Choose action for file exceeded this limit
-                    if (sendLinkIfUploadSizeLimitExceeded) {
-                        // Send link to the artifact instead of file itself
-                        URL artifactUrl = new URL(build.getParent().getAbsoluteUrl()
-                                + build.getNumber() + "/artifact/" + artifact);
-                        logger.println("Uploading artifact link '" + artifactUrl
-                                + "' to Telegram chat " + this.chatId);
-                        try {
-                            telegramResponse = sendTelegramLink(httpClient, httpProxy,
-                                    botApiServerUri, botToken, expandedCaption, artifactUrl,
-                                    artifactVirtualFile.length());
-                            if (!isTelegramResponseOk(telegramResponse)) {
-                                doFailAction(logger, "Error while uploading artifact link '"
-                                        + artifactUrl + "' to Telegram chat " + this.chatId
-                                        + getTelegramErrorMessage(telegramResponse));
-                                continue;
-                            }
-                        } catch (AbortException ae) {
-                            throw ae;
-                        } catch (Exception e) {
-                            doFailAction(logger, "Can't upload artifact link '" + artifactUrl
-                                    + "' to Telegram chat " + this.chatId + ": " + e.getMessage());
-                        }
-                    } else {
-                        // File limit exceeded, do fail action
-                        doFailAction(logger, "Can't upload artifact '" + artifactVirtualFile
-                                + "' to the Telegram: file is too big: "
-                                + Functions.humanReadableByteSize(artifactVirtualFile.length())
-                                + ", upload file size limit is: "
-                                + Functions.humanReadableByteSize(sendFileSizeLimit));
-                        continue;
-                    }
-                } else {
-                    File artifactFile = new File(artifactVirtualFile.toURI());
-                    logger.println("Uploading artifact '" + artifact + "' to the Telegram chat "
-                            + this.chatId);
+        int parallelism = Math.min(this.uploadParallelism, descriptor.getMaxUploadParallelism());
+
+        // The same bot is used to upload artifacts and to forward them
+        String botToken = selectBotToken(descriptor);
+
+        if (this.uploadFromAgent) {
+            List<String> unsupportedOptions = getAgentUnsupportedOptions(this.sendAsMediaGroup,
+                    this.splitOversizedArtifacts, this.bundleArtifacts, this.reuseUploadedFiles,
+                    this.unchangedArtifacts, this.uploadAsynchronously,
+                    this.sendLinkIfUploadSizeLimitExceeded);
+            if (!unsupportedOptions.isEmpty()) {
+                doFailAction(logger, "Can't upload workspace files: options not supported "
+                        + "when uploading from agent are set: "
+                        + String.join(", ", unsupportedOptions));
+                return;
+            }
+            uploadFromWorkspace(build, workspace, descriptor, transport, httpProxy,
+                    botApiServerUri, botToken, expandedCaption, parallelism, listener);
+            return;
+        }
+
+        VirtualFile artifactsRoot = build.getArtifactManager().root();
+        ArtifactsMatcher.Listing artifacts = listArtifacts(build, artifactsRoot, logger);
+        if (artifacts == null) {
+            return;
+        }
+
+        // Artifacts digests are shared by the change check and the file ID cache
+        ArtifactDigests digests = new ArtifactDigests(artifactsRoot);
+
+        // Artifacts not changed since the last upload to the chat are filtered out
+        ChangedArtifacts.Unchanged unchangedAction = getUnchangedArtifactsAction();
+        ChangedArtifacts changedArtifacts = (unchangedAction != ChangedArtifacts.Unchanged.UPLOAD)
+                ? new ChangedArtifacts(build, digests, artifacts, this.chatId) : null;
+        Iterator<String> uploads = (changedArtifacts != null) ? changedArtifacts : artifacts;
+
+        // Uploaded artifacts message IDs, in artifacts upload order
+        Map<String, Integer> uploadedArtifacts = new LinkedHashMap<>();
+
+        try {
+            if (this.bundleArtifacts) {
+                String[] bundledArtifacts = getBundledArtifacts(artifacts, changedArtifacts);
+                if (bundledArtifacts.length > 0) {
+                    uploadedArtifacts.putAll(uploadArtifactsBundle(build, artifactsRoot,
+                            bundledArtifacts, transport, httpProxy, botApiServerUri, botToken,
+                            expandedCaption, logger));
+                }
+            } else if (this.sendAsMediaGroup) {
+                uploadArtifactGroups(build, artifactsRoot, digests, uploads, transport,
+                        httpProxy, botApiServerUri, botToken, expandedCaption, uploadedArtifacts,
+                        logger);
+            } else if (parallelism <= 1) {
+                while (uploads.hasNext()) {
+                    uploadedArtifacts.putAll(uploadArtifact(build, artifactsRoot, digests,
+                            uploads.next(), transport, httpProxy, botApiServerUri, botToken,
+                            expandedCaption, logger));
+                }
+            } else {
+                logger.println("Uploading artifacts to the Telegram chat " + this.chatId
+                        + " using up to " + parallelism + " parallel uploads");
+                uploadArtifacts(build, artifactsRoot, digests, uploads, parallelism, transport,
+                        httpProxy, botApiServerUri, botToken, expandedCaption, uploadedArtifacts,
+                        logger);
+            }
+            artifacts.checkError();
+            if (changedArtifacts != null) {
+                handleUnchangedArtifacts(changedArtifacts.getUnchanged(), unchangedAction,
+                        transport, httpProxy, botApiServerUri, botToken, logger);
+            }
+            forwardArtifacts(build, uploadedArtifacts, parallelism, transport, httpProxy,
+                    botApiServerUri, botToken, logger);
+        } catch (AbortException ae) {
+            throw ae;
+        } catch (IOException ioe) {
+            doFailAction(logger, "Can't upload artifacts to Telegram: " + ioe.getMessage());
+        } finally {
+            artifacts.close();
+            if (changedArtifacts != null) {
+                recordUploadedArtifacts(build, changedArtifacts, uploadedArtifacts, logger);
+            }
+        }
+    }
+
+    // Bundle is uploaded with all artifacts if any of them was changed
+    private static String[] getBundledArtifacts(ArtifactsMatcher.Listing artifacts,
+            ChangedArtifacts changedArtifacts) throws IOException {
+        if (changedArtifacts == null) {
+            String[] bundledArtifacts = artifacts.toArray();
+            // Don't upload incomplete bundle
+            artifacts.checkError();
+            return bundledArtifacts;
+        }
+        boolean changed = false;
+        while (changedArtifacts.hasNext()) {
+            changedArtifacts.next();
+            changed = true;
+        }
+        artifacts.checkError();
+        return changed ? changedArtifacts.getDigests().keySet().toArray(new String[0])
+                : new String[0];
+    }
+
+    // Skip unchanged artifacts, or forward their previously uploaded messages to the chat
+    private void handleUnchangedArtifacts(Map<String, UploadedArtifact> unchangedArtifacts,
+            ChangedArtifacts.Unchanged unchangedAction, TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, PrintStream logger)
+                    throws AbortException {
+        if (unchangedArtifacts.isEmpty()) {
+            return;
+        }
+        // Bot API requires message IDs to be sorted in increasing order
+        Map<Integer, String> messages = new TreeMap<>();
+        for (Map.Entry<String, UploadedArtifact> unchanged : unchangedArtifacts.entrySet()) {
+            int messageId = unchanged.getValue().getMessageId();
+            if (unchangedAction == ChangedArtifacts.Unchanged.FORWARD && messageId >= 0) {
+                messages.put(messageId, unchanged.getKey());
+            } else {
+                logger.println("Skipping artifact '" + unchanged.getKey()
+                        + "' not changed since the last upload");
+            }
+        }
+        if (!messages.isEmpty()) {
+            forwardArtifacts(messages, this.chatId, transport, httpProxy, botApiServerUri,
+                    botToken, logger);
+        }
+    }
+
+    // Record uploaded and unchanged artifacts, so the next builds could skip them
+    private void recordUploadedArtifacts(Run<?, ?> build, ChangedArtifacts changedArtifacts,
+            Map<String, Integer> uploadedArtifacts, PrintStream logger) {
+        Map<String, UploadedArtifact> artifacts = new LinkedHashMap<>(
+                changedArtifacts.getUnchanged());
+        // Bundle message can't be forwarded instead of a single artifact
+        boolean bundleUploaded = this.bundleArtifacts && !uploadedArtifacts.isEmpty();
+        for (Map.Entry<String, String> digest : changedArtifacts.getDigests().entrySet()) {
+            Integer messageId = uploadedArtifacts.get(digest.getKey());
+            if (digest.getValue() != null && (messageId != null || bundleUploaded)
+                    && !artifacts.containsKey(digest.getKey())) {
+                artifacts.put(digest.getKey(), new UploadedArtifact(digest.getValue(),
+                        (messageId != null && !bundleUploaded) ? messageId : -1));
+            }
+        }
+        try {
+            TelegramUploadedArtifactsAction.record(build, this.chatId, artifacts);
+        } catch (IOException e) {
+            logger.println("Can't record uploaded artifacts: " + e.getMessage());
+        }
+    }
+
+    // Start listing of artifacts matched by the filter, return null if there is nothing
+    // to upload. Listing is cached once build artifacts can't be changed: build is complete
+    // or it's a freestyle build, where notifiers are run after all artifacts are archived
+    private ArtifactsMatcher.Listing listArtifacts(Run<?, ?> build, VirtualFile artifactsRoot,
+            PrintStream logger) throws AbortException {
+        boolean cacheable = !build.isBuilding() || build instanceof AbstractBuild;
+        ArtifactsMatcher.Listing artifacts = getArtifactsMatcher().list(artifactsRoot,
+                cacheable ? build.getExternalizableId() : null);
+
+        // Wait for the first matched artifact
+        if (!artifacts.hasNext()) {
+            try {
+                artifacts.checkError();
+            } catch (IOException e) {
+                doFailAction(logger, e.getMessage());
+                return null;
+            }
+            doFailAction(logger, "No artifacts are matched by given filter for upload");
+            return null;
+        }
+
+        return artifacts;
+    }
+
+    // Upload artifacts in media groups, oversized artifacts are handled one by one
+    private void uploadArtifactGroups(Run<?, ?> build, VirtualFile artifactsRoot,
+            ArtifactDigests digests, Iterator<String> artifacts, TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, String caption,
+            Map<String, Integer> uploadedArtifacts, PrintStream logger) throws IOException {
+        long sendFileSizeLimit = getSendFileSizeLimit(botApiServerUri);
+        List<String> group = new ArrayList<>(SEND_MEDIA_GROUP_SIZE_LIMIT);
+        while (artifacts.hasNext()) {
+            String artifact = artifacts.next();
+            if (artifactsRoot.child(artifact).length() > sendFileSizeLimit) {
+                uploadedArtifacts.putAll(uploadArtifact(build, artifactsRoot, digests, artifact,
+                        transport, httpProxy, botApiServerUri, botToken, caption, logger));
+                continue;
+            }
+            group.add(artifact);
+            if (group.size() == SEND_MEDIA_GROUP_SIZE_LIMIT) {
+                uploadArtifactGroup(build, artifactsRoot, digests, group, transport, httpProxy,
+                        botApiServerUri, botToken, caption, uploadedArtifacts, logger);
+                group.clear();
+            }
+        }
+        if (!group.isEmpty()) {
+            uploadArtifactGroup(build, artifactsRoot, digests, group, transport, httpProxy,
+                    botApiServerUri, botToken, caption, uploadedArtifacts, logger);
+        }
+    }
+
+    private void uploadArtifactGroup(Run<?, ?> build, VirtualFile artifactsRoot,
+            ArtifactDigests digests, List<String> group, TelegramTransport transport,
+            HttpHost httpProxy,
+            String botApiServerUri, String botToken, String caption,
+            Map<String, Integer> uploadedArtifacts, PrintStream logger) throws IOException {
+        // Media group must contain at least two items
+        if (group.size() == 1) {
+            uploadedArtifacts.putAll(uploadArtifact(build, artifactsRoot, digests, group.get(0),
+                    transport, httpProxy, botApiServerUri, botToken, caption, logger));
+            return;
+        }
+        logger.println("Uploading artifacts " + group + " to the Telegram chat " + this.chatId
+                + " as a media group");
+        List<VirtualFile> files = new ArrayList<>(group.size());
+        List<String> fileHashes = this.reuseUploadedFiles ? new ArrayList<>(group.size()) : null;
+        for (String artifact : group) {
+            files.add(artifactsRoot.child(artifact));
+            if (fileHashes != null) {
+                fileHashes.add(digests.get(artifact));
+            }
+        }
+        List<Integer> messageIds;
+        try {
+            TelegramResponse telegramResponse = sendTelegramMediaGroup(build, transport,
+                    httpProxy, botApiServerUri, botToken, caption, files, fileHashes, logger);
+            if (!isTelegramResponseOk(telegramResponse)) {
+                doFailAction(logger, "Error while uploading artifacts " + group
+                        + " to Telegram chat " + this.chatId
+                        + getTelegramErrorMessage(telegramResponse));
+                return;
+            }
+            messageIds = getTelegramMessageIds(telegramResponse);
+        } catch (AbortException ae) {
+            throw ae;
+        } catch (Exception e) {
+            doFailAction(logger, "Can't upload artifacts " + group + " to Telegram chat "
+                    + this.chatId + ": " + e.getMessage());
+            return;
+        }
+        if (messageIds.size() != group.size()) {
+            if (this.forwardChatIds != null) {
+                logger.println("Skip forwarding uploaded artifacts because "
+                        + "no message IDs were found in Telegram response");
+            }
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            uploadedArtifacts.put(group.get(i), messageIds.get(i));
+        }
+    }
+
+    // Upload artifacts concurrently, printing upload logs and handling failures in artifacts order
+    private void uploadArtifacts(Run<?, ?> build, VirtualFile artifactsRoot,
+            ArtifactDigests digests, Iterator<String> artifacts, int parallelism,
+            TelegramTransport transport, HttpHost httpProxy, String botApiServerUri,
+            String botToken, String caption, Map<String, Integer> uploadedArtifacts,
+            PrintStream logger) throws InterruptedException, IOException {
+        // Uploads are started as soon as artifacts are listed
+        Iterator<LoggedTask<Map<String, Integer>>> uploads = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return artifacts.hasNext();
+            }
+
+            @Override
+            public LoggedTask<Map<String, Integer>> next() {
+                String artifact = artifacts.next();
+                return uploadLogger -> uploadArtifact(build, artifactsRoot, digests, artifact,
+                        transport, httpProxy, botApiServerUri, botToken, caption, uploadLogger);
+            }
+        };
+        for (Map<String, Integer> messageIds : runConcurrently(uploads, parallelism,
+                "Telegram uploader for " + build.getFullDisplayName(), logger)) {
+            uploadedArtifacts.putAll(messageIds);
+        }
+    }
+
+    // Task writing its messages to the given logger
+    private interface LoggedTask<T> {
+        T call(PrintStream logger) throws IOException;
+    }
+
+    // Run tasks concurrently, printing tasks logs and handling failures in tasks order
+    private static <T> List<T> runConcurrently(Iterator<LoggedTask<T>> tasks, int parallelism,
+            String threadName, PrintStream logger) throws InterruptedException, IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                new NamingThreadFactory(new DaemonThreadFactory(), threadName));
+        // Tasks are cancelled along with the upload running them
+        UploadCancellation cancellation = UploadCancellation.current();
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            List<ByteArrayOutputStream> taskLogs = new ArrayList<>();
+            while (tasks.hasNext()) {
+                LoggedTask<T> task = tasks.next();
+                ByteArrayOutputStream taskLog = new ByteArrayOutputStream();
+                PrintStream taskLogger = new PrintStream(taskLog, true, "UTF-8");
+                taskLogs.add(taskLog);
+                futures.add(executor.submit(() -> {
+                    UploadCancellation.setCurrent(cancellation);
                     try {
-                        telegramResponse = sendTelegramFile(httpClient, httpProxy,
-                                botApiServerUri, botToken, expandedCaption, artifactFile);
-                        if (!isTelegramResponseOk(telegramResponse)) {
-                            doFailAction(logger, "Error while uploading artifact '" + artifact
-                                    + "' to Telegram chat " + this.chatId
-                                    + getTelegramErrorMessage(telegramResponse));
-                            continue;
-                        }
-                    } catch (AbortException ae) {
-                        throw ae;
-                    } catch (Exception e) {
-                        doFailAction(logger, "Can't upload artifact '" + artifactFile
-                                + "' to Telegram chat " + this.chatId + ": " + e.getMessage());
+                        return task.call(taskLogger);
+                    } finally {
+                        UploadCancellation.setCurrent(null);
                     }
+                }));
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    logger.print(taskLogs.get(i).toString("UTF-8"));
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IOException(cause);
                 }
-                if (this.forwardChatIds == null) {
-                    continue;
-                }
-                if (telegramResponse == null) {
-                    logger.println("Skip forwarding uploaded artifact because "
-                            + "Telegram response is null");
-                    continue;
+                logger.print(taskLogs.get(i).toString("UTF-8"));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Upload artifact and return uploaded messages IDs by their names, -1 if ID is not known
+    private Map<String, Integer> uploadArtifact(Run<?, ?> build, VirtualFile artifactsRoot,
+            ArtifactDigests digests, String artifact, TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, String expandedCaption,
+            PrintStream logger) throws IOException {
+        VirtualFile artifactVirtualFile = artifactsRoot.child(artifact);
+        long sendFileSizeLimit = getSendFileSizeLimit(botApiServerUri);
+        if (this.splitOversizedArtifacts && artifactVirtualFile.length() > sendFileSizeLimit) {
+            return uploadArtifactParts(build, artifactVirtualFile, artifact, sendFileSizeLimit,
+                    transport, httpProxy, botApiServerUri, botToken, expandedCaption, logger);
+        }
+        return Collections.singletonMap(artifact, uploadArtifactFile(build, artifactVirtualFile,
+                digests, artifact, sendFileSizeLimit, transport, httpProxy, botApiServerUri,
+                botToken, expandedCaption, logger));
+    }
+
+    // Upload artifacts bundled into a single zip file, split into parts if it's too big
+    private Map<String, Integer> uploadArtifactsBundle(Run<?, ?> build, VirtualFile artifactsRoot,
+            String[] artifacts, TelegramTransport transport, HttpHost httpProxy,
+            String botApiServerUri, String botToken, String expandedCaption, PrintStream logger)
+                    throws IOException {
+        String bundleName = build.getParent().getName() + "-" + build.getNumber() + ".zip";
+        logger.println("Bundling " + artifacts.length + " artifacts into '" + bundleName + "'");
+        Map<String, Integer> uploadedParts = new LinkedHashMap<>();
+        List<String> manifest = new ArrayList<>();
+        long length = 0;
+        try (ArtifactsBundle bundle = new ArtifactsBundle(artifactsRoot, artifacts,
+                this.bundleCompressionLevel)) {
+            // Bundle is split into parts if it could exceed the upload size limit
+            long sendFileSizeLimit = getSendFileSizeLimit(botApiServerUri);
+            long maxLength = bundle.getMaxLength();
+            boolean split = maxLength > sendFileSizeLimit;
+            long maxParts = (maxLength + sendFileSizeLimit - 1) / sendFileSizeLimit;
+            String partNameFormat = "%s.%0" + Math.max(3, String.valueOf(maxParts).length())
+                    + "d";
+            if (split) {
+                logger.println("Uploading artifact '" + bundleName + "' to the Telegram chat "
+                        + this.chatId + " in parts");
+            } else {
+                logger.println("Uploading artifact '" + bundleName + "' to the Telegram chat "
+                        + this.chatId);
+            }
+            for (int i = 0; i == 0 || (split && !bundle.isWritten()); i++) {
+                String partName = split ? String.format(partNameFormat, bundleName, i + 1)
+                        : bundleName;
+                ArtifactsBundle.Part part = bundle.nextPart(partName,
+                        split ? sendFileSizeLimit : maxLength);
+                if (split) {
+                    logger.println("Uploading artifact part '" + partName
+                            + "' to the Telegram chat " + this.chatId);
                 }
-                JSONObject result = (JSONObject) telegramResponse.opt("result");
-                if (result == null) {
-                    logger.println("Skip forwarding uploaded artifact because "
-                            + "no result was found in Telegram response");
-                    continue;
+                try {
+                    // Caption is sent with the first part only
+                    HttpEntity data = new ArtifactsBundle.PartEntity(throttle(
+                            getSendDocumentEntity(this.chatId, this.silent,
+                                    (i == 0) ? expandedCaption : null, part),
+                            build, partName, logger), part);
+                    TelegramResponse telegramResponse = sendTelegramRequest(transport,
+                            httpProxy, botApiServerUri, botToken, "sendDocument", data,
+                            this.chatId, getDescriptor().getRetryPolicy(), logger);
+                    if (!isTelegramResponseOk(telegramResponse)) {
+                        doFailAction(logger, "Error while uploading artifact '" + partName
+                                + "' to Telegram chat " + this.chatId
+                                + getTelegramErrorMessage(telegramResponse));
+                        return uploadedParts;
+                    }
+                    uploadedParts.put(partName, getTelegramMessageId(telegramResponse));
+                } catch (AbortException ae) {
+                    throw ae;
+                } catch (Exception e) {
+                    doFailAction(logger, "Can't upload artifact '" + partName
+                            + "' to Telegram chat " + this.chatId + ": " + e.getMessage());
+                    return uploadedParts;
                 }
-                int messageId = result.optInt("message_id", -1);
-                if (messageId < 0) {
-                    logger.println("Skip forwarding uploaded artifact because "
-                            + "no message ID was found in Telegram response");
-                    continue;
+                length += part.getLength();
+                manifest.add(partName + " " + part.getLength() + " " + part.getDigest());
+            }
+            if (!split) {
+                if (!bundle.isWritten()) {
+                    doFailAction(logger, "Can't upload artifact '" + bundleName
+                            + "' to Telegram chat " + this.chatId + ": bundle is truncated");
                 }
-                String[] forwardChatIds = this.forwardChatIds.split(",");
-                for (String forwardChatId : forwardChatIds) {
-                    forwardChatId = forwardChatId.trim();
-                    if (forwardChatId.isEmpty()) {
-                        continue;
+                return uploadedParts;
+            }
+        }
+        uploadManifest(bundleName, bundleName, length, manifest, uploadedParts, transport,
+                httpProxy, botApiServerUri, botToken, logger);
+        return uploadedParts;
+    }
+
+    // Upload artifact file (or link to it) and return uploaded message ID, or -1 if not known,
+    // digests are null if the file isn't a build artifact
+    private int uploadArtifactFile(Run<?, ?> build, VirtualFile artifactVirtualFile,
+            ArtifactDigests digests, String artifact, long sendFileSizeLimit,
+            TelegramTransport transport, HttpHost httpProxy, String botApiServerUri,
+            String botToken, String expandedCaption, PrintStream logger) throws IOException {
+        TelegramResponse telegramResponse = null;
+        // Check for Telegram upload file size limit
+        if (artifactVirtualFile.length() > sendFileSizeLimit) {
+            // Choose action for file exceeded this limit
+            if (sendLinkIfUploadSizeLimitExceeded) {
+                // Send link to the artifact instead of file itself
+                URL artifactUrl = new URL(build.getParent().getAbsoluteUrl()
+                        + build.getNumber() + "/artifact/" + artifact);
+                logger.println("Uploading artifact link '" + artifactUrl
+                        + "' to Telegram chat " + this.chatId);
+                try {
+                    telegramResponse = sendTelegramLink(transport, httpProxy,
+                            botApiServerUri, botToken, expandedCaption, artifactUrl,
+                            artifactVirtualFile.length(), logger);
+                    if (!isTelegramResponseOk(telegramResponse)) {
+                        doFailAction(logger, "Error while uploading artifact link '"
+                                + artifactUrl + "' to Telegram chat " + this.chatId
+                                + getTelegramErrorMessage(telegramResponse));
+                        return -1;
                     }
-                    logger.println("Forwarding artifact '" + artifact
-                            + "' to Telegram chat " + forwardChatId);
-                    try {
-                        telegramResponse = forwardTelegramMessage(httpClient, httpProxy,
-                                botApiServerUri, botToken, messageId, forwardChatId);
-                        if (!isTelegramResponseOk(telegramResponse)) {
-                            doFailAction(logger, "Error while forwarding artifact '" + artifact
-                                    + "' to Telegram chat " + forwardChatId
-                                    + getTelegramErrorMessage(telegramResponse));
-                        }
-                    } catch (AbortException ae) {
-                        throw ae;
-                    } catch (Exception e) {
-                        doFailAction(logger, "Can't forward artifact '" + artifact
-                                + "' to Telegram chat " + forwardChatId + ": " + e.getMessage());
+                } catch (AbortException ae) {
+                    throw ae;
+                } catch (Exception e) {
+                    doFailAction(logger, "Can't upload artifact link '" + artifactUrl
+                            + "' to Telegram chat " + this.chatId + ": " + e.getMessage());
+                }
+            } else {
+                // File limit exceeded, do fail action
+                doFailAction(logger, "Can't upload artifact '" + artifactVirtualFile
+                        + "' to the Telegram: file is too big: "
+                        + Functions.humanReadableByteSize(artifactVirtualFile.length())
+                        + ", upload file size limit is: "
+                        + Functions.humanReadableByteSize(sendFileSizeLimit));
+                return -1;
+            }
+        } else {
+            logger.println("Uploading artifact '" + artifact + "' to the Telegram chat "
+                    + this.chatId);
+            try {
+                String fileHash = (this.reuseUploadedFiles && digests != null)
+                        ? digests.get(artifact) : null;
+                telegramResponse = sendTelegramFile(build, transport, httpProxy,
+                        botApiServerUri, botToken, expandedCaption, artifactVirtualFile, fileHash,
+                        logger);
+                if (!isTelegramResponseOk(telegramResponse)) {
+                    doFailAction(logger, "Error while uploading artifact '" + artifact
+                            + "' to Telegram chat " + this.chatId
+                            + getTelegramErrorMessage(telegramResponse));
+                    return -1;
+                }
+            } catch (AbortException ae) {
+                throw ae;
+            } catch (Exception e) {
+                doFailAction(logger, "Can't upload artifact '" + artifact
+                        + "' to Telegram chat " + this.chatId + ": " + e.getMessage());
+            }
+        }
+        if (this.forwardChatIds == null) {
+            return getTelegramMessageId(telegramResponse);
+        }
+        if (telegramResponse == null) {
+            logger.println("Skip forwarding uploaded artifact because "
+                    + "Telegram response is null");
+            return -1;
+        }
+        int messageId = telegramResponse.getMessageId();
+        if (messageId < 0) {
+            logger.println("Skip forwarding uploaded artifact because "
+                    + "no message ID was found in Telegram response");
+            return -1;
+        }
+        return messageId;
+    }
+
+    // Upload artifact split into numbered parts below the upload size limit, followed by
+    // the manifest with parts sizes and checksums, return uploaded messages IDs by their names
+    private Map<String, Integer> uploadArtifactParts(Run<?, ?> build,
+            VirtualFile artifactVirtualFile, String artifact, long partSizeLimit,
+            TelegramTransport transport, HttpHost httpProxy, String botApiServerUri,
+            String botToken, String expandedCaption, PrintStream logger) throws IOException {
+        long length = artifactVirtualFile.length();
+        long parts = (length + partSizeLimit - 1) / partSizeLimit;
+        String fileName = artifactVirtualFile.getName();
+        // Zero padded part numbers keep parts sorted by name
+        String partNameFormat = "%s.%0" + Math.max(3, String.valueOf(parts).length()) + "d";
+        logger.println("Uploading artifact '" + artifact + "' to the Telegram chat "
+                + this.chatId + " in " + parts + " parts");
+        Map<String, Integer> uploadedParts = new LinkedHashMap<>();
+        List<String> manifest = new ArrayList<>();
+        try (VirtualFileBody.Parts fileParts = new VirtualFileBody.Parts(artifactVirtualFile)) {
+            for (long i = 0; i < parts; i++) {
+                long offset = i * partSizeLimit;
+                String partName = String.format(partNameFormat, fileName, i + 1);
+                VirtualFileBody part = new VirtualFileBody(fileParts, partName, offset,
+                        Math.min(partSizeLimit, length - offset), ContentType.DEFAULT_BINARY);
+                logger.println("Uploading artifact part '" + partName
+                        + "' to the Telegram chat " + this.chatId);
+                try {
+                    // Caption is sent with the first part only
+                    HttpEntity data = throttle(getSendDocumentEntity(this.chatId, this.silent,
+                            (i == 0) ? expandedCaption : null, part), build, partName, logger);
+                    TelegramResponse telegramResponse = sendTelegramRequest(transport,
+                            httpProxy, botApiServerUri, botToken, "sendDocument", data,
+                            this.chatId, getDescriptor().getRetryPolicy(), logger);
+                    if (!isTelegramResponseOk(telegramResponse)) {
+                        doFailAction(logger, "Error while uploading artifact part '" + partName
+                                + "' to Telegram chat " + this.chatId
+                                + getTelegramErrorMessage(telegramResponse));
+                        return uploadedParts;
                     }
+                    uploadedParts.put(partName, getTelegramMessageId(telegramResponse));
+                } catch (AbortException ae) {
+                    throw ae;
+                } catch (Exception e) {
+                    doFailAction(logger, "Can't upload artifact part '" + partName
+                            + "' to Telegram chat " + this.chatId + ": " + e.getMessage());
+                    return uploadedParts;
                 }
+                manifest.add(partName + " " + part.getContentLength() + " " + part.getDigest());
+            }
+        }
+        uploadManifest(artifact, fileName, length, manifest, uploadedParts, transport,
+                httpProxy, botApiServerUri, botToken, logger);
+        return uploadedParts;
+    }
+
+    // Upload manifest of the artifact split into parts, listed with their sizes and checksums
+    private void uploadManifest(String artifact, String fileName, long length,
+            List<String> parts, Map<String, Integer> uploadedParts, TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, PrintStream logger)
+                    throws IOException {
+        List<String> manifest = new ArrayList<>();
+        manifest.add("Artifact '" + fileName + "' (" + length + " bytes) is split into "
+                + parts.size() + " parts, SHA-256 checksums:");
+        manifest.addAll(parts);
+        manifest.add("Reassemble with: cat " + fileName + ".[0-9]* > " + fileName);
+        logger.println("Uploading manifest of artifact '" + artifact + "' to the Telegram chat "
+                + this.chatId);
+        try {
+            List<Integer> messageIds = sendTelegramMessage(transport, httpProxy,
+                    botApiServerUri, botToken, manifest, logger);
+            for (int i = 0; i < messageIds.size(); i++) {
+                uploadedParts.put(fileName + " manifest" + ((i > 0) ? " " + (i + 1) : ""),
+                        messageIds.get(i));
             }
         } catch (AbortException ae) {
             throw ae;
-        } catch (IOException ioe) {
-            // Ignore httpClient.close() IOException
+        } catch (Exception e) {
+            doFailAction(logger, "Can't upload manifest of artifact '" + artifact
+                    + "' to Telegram chat " + this.chatId + ": " + e.getMessage());
         }
     }
 
-    // Get all changesets from last successful build
-    private List<ChangeLogSet<? extends Entry>> getChangeSets(@Nonnull Run<?, ?> run) {
-        List<ChangeLogSet<? extends Entry>> result = new LinkedList<>();
-        if (run instanceof AbstractBuild<?,?>) {
-            AbstractBuild<?,?> b = (AbstractBuild<?,?>) run;
-            Result r;
-            do {
-                ChangeLogSet<? extends Entry> changeLogSet = b.getChangeSet();
-                result.add(0, changeLogSet);
-                b = b.getPreviousBuild();
-                r = (b != null) ? b.getResult() : null;
-            } while (b != null && r != null && r.isWorseThan(Result.SUCCESS));
-            return result;
+    // Get names of the set options which aren't supported when uploading from agent
+    private static List<String> getAgentUnsupportedOptions(boolean sendAsMediaGroup,
+            boolean splitOversizedArtifacts, boolean bundleArtifacts,
+            boolean reuseUploadedFiles, String unchangedArtifacts, boolean uploadAsynchronously,
+            boolean sendLinkIfUploadSizeLimitExceeded) {
+        List<String> options = new ArrayList<>();
+        if (sendAsMediaGroup) {
+            options.add("send as media group");
+        }
+        if (splitOversizedArtifacts) {
+            options.add("split oversized artifacts");
+        }
+        if (bundleArtifacts) {
+            options.add("bundle artifacts");
+        }
+        if (reuseUploadedFiles) {
+            options.add("reuse uploaded files");
+        }
+        if (getUnchangedArtifactsAction(unchangedArtifacts) != ChangedArtifacts.Unchanged.UPLOAD) {
+            options.add("unchanged artifacts filtering");
+        }
+        if (uploadAsynchronously) {
+            options.add("upload asynchronously");
+        }
+        if (sendLinkIfUploadSizeLimitExceeded) {
+            options.add("send link if upload size limit exceeded");
         }
-        return Collections.emptyList();
+        return options;
     }
 
-    private static String escapeMarkdown(String str) {
-        return str.replace("_", "\\_")
-                .replace("*", "\\*")
-                .replace("[", "\\[")
-                .replace("`", "\\`");
+    // Upload workspace files matched by filter from the agent owning the workspace
+    private void uploadFromWorkspace(Run<?, ?> build, FilePath workspace,
+            TelegramUploaderDescriptor descriptor, TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, String caption,
+            int parallelism, TaskListener listener) throws InterruptedException, IOException {
+        PrintStream logger = listener.getLogger();
+        if (workspace == null) {
+            doFailAction(logger, "Can't upload workspace files: no workspace is available");
+            return;
+        }
+        List<AgentUploadCallable.Result> results;
+        try {
+            results = workspace.act(new AgentUploadCallable(this, descriptor, build,
+                    workspace.getChannel(), botApiServerUri, botToken, caption,
+                    getSendFileSizeLimit(botApiServerUri), listener));
+        } catch (IOException e) {
+            doFailAction(logger, "Can't upload workspace files: " + e.getMessage());
+            return;
+        }
+        if (results.isEmpty()) {
+            doFailAction(logger, "No workspace files are matched by given filter for upload");
+            return;
+        }
+        Map<String, Integer> uploadedArtifacts = new LinkedHashMap<>();
+        for (AgentUploadCallable.Result result : results) {
+            result.recordRequests(botApiServerUri, botToken);
+            if (result.getArtifact() == null) {
+                doFailAction(logger, "Can't list workspace files: " + result.getError());
+                continue;
+            }
+            if (result.getError() != null) {
+                doFailAction(logger, "Can't upload workspace file '" + result.getArtifact()
+                        + "' to Telegram chat " + this.chatId + ": " + result.getError());
+                continue;
+            }
+            uploadedArtifacts.put(result.getArtifact(), result.getMessageId());
+        }
+        forwardArtifacts(null, uploadedArtifacts, parallelism, transport, httpProxy,
+                botApiServerUri, botToken, logger);
     }
 
-    private String getChangeLog(@Nonnull Run<?, ?> run, int sizeLimit) {
+    // Forward uploaded artifacts to all forward chats, concurrently if parallelism allows
+    private void forwardArtifacts(Run<?, ?> build, Map<String, Integer> uploadedArtifacts,
+            int parallelism, TelegramTransport transport, HttpHost httpProxy,
+            String botApiServerUri, String botToken, PrintStream logger)
+                    throws InterruptedException, IOException {
+        if (this.forwardChatIds == null) {
+            return;
+        }
+        // Bot API requires message IDs to be sorted in increasing order
+        Map<Integer, String> messages = new TreeMap<>();
+        for (Map.Entry<String, Integer> uploadedArtifact : uploadedArtifacts.entrySet()) {
+            if (uploadedArtifact.getValue() >= 0) {
+                messages.put(uploadedArtifact.getValue(), uploadedArtifact.getKey());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<String> forwardChatIds = new ArrayList<>();
+        for (String forwardChatId : this.forwardChatIds.split(",")) {
+            forwardChatId = forwardChatId.trim();
+            if (!forwardChatId.isEmpty()) {
+                forwardChatIds.add(forwardChatId);
+            }
+        }
+        parallelism = Math.min(parallelism, forwardChatIds.size());
+        if (parallelism <= 1) {
+            for (String forwardChatId : forwardChatIds) {
+                forwardArtifacts(messages, forwardChatId, transport, httpProxy,
+                        botApiServerUri, botToken, logger);
+            }
+            return;
+        }
+        List<LoggedTask<Void>> forwards = new ArrayList<>(forwardChatIds.size());
+        for (String forwardChatId : forwardChatIds) {
+            forwards.add(forwardLogger -> {
+                forwardArtifacts(messages, forwardChatId, transport, httpProxy,
+                        botApiServerUri, botToken, forwardLogger);
+                return null;
+            });
+        }
+        runConcurrently(forwards.iterator(), parallelism, "Telegram forwarder"
+                + ((build != null) ? " for " + build.getFullDisplayName() : ""), logger);
+    }
+
+    // Forward uploaded messages to the chat, using batch requests for multiple messages
+    private void forwardArtifacts(Map<Integer, String> messages, String forwardChatId,
+            TelegramTransport transport, HttpHost httpProxy, String botApiServerUri,
+            String botToken, PrintStream logger) throws AbortException {
+        List<Integer> messageIds = new ArrayList<>(messages.keySet());
+        for (int i = 0; i < messageIds.size(); i += FORWARD_MESSAGES_SIZE_LIMIT) {
+            List<Integer> batchMessageIds = messageIds.subList(i,
+                    Math.min(i + FORWARD_MESSAGES_SIZE_LIMIT, messageIds.size()));
+            List<String> artifacts = new ArrayList<>(batchMessageIds.size());
+            for (Integer messageId : batchMessageIds) {
+                artifacts.add("'" + messages.get(messageId) + "'");
+            }
+            String batchArtifacts = ((artifacts.size() == 1) ? "artifact " : "artifacts ")
+                    + String.join(", ", artifacts);
+            String action = this.copyForwardedArtifacts ? "copy" : "forward";
+            logger.println((this.copyForwardedArtifacts ? "Copying " : "Forwarding ")
+                    + batchArtifacts + " to Telegram chat " + forwardChatId);
+            try {
+                TelegramResponse telegramResponse = (batchMessageIds.size() == 1)
+                        ? forwardTelegramMessage(transport, httpProxy, botApiServerUri,
+                                botToken, batchMessageIds.get(0), forwardChatId, logger)
+                        : forwardTelegramMessages(transport, httpProxy, botApiServerUri,
+                                botToken, batchMessageIds, forwardChatId, logger);
+                if (!isTelegramResponseOk(telegramResponse)) {
+                    doFailAction(logger, "Error while " + action + "ing " + batchArtifacts
+                            + " to Telegram chat " + forwardChatId
+                            + getTelegramErrorMessage(telegramResponse));
+                }
+            } catch (AbortException ae) {
+                throw ae;
+            } catch (Exception e) {
+                doFailAction(logger, "Can't " + action + " " + batchArtifacts
+                        + " to Telegram chat " + forwardChatId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Get changelog lines of the build changesets, in commit order
+    private static List<String> getChangeLogLines(@Nonnull Run<?, ?> run) {
         List<String> changeLogLines = new ArrayList<>();
-        for (ChangeLogSet<? extends Entry> changeSet : getChangeSets(run)) {
+        for (ChangeLogSet<? extends Entry> changeSet : ((RunWithSCM<?, ?>) run).getChangeSets()) {
             for (Iterator<? extends ChangeLogSet.Entry> i = changeSet.iterator(); i.hasNext();) {
                 ChangeLogSet.Entry change = i.next();
                 String changeLogMessage = change.getMsg();
@@ -413,25 +1274,78 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
                 changeLogLines.add(escapeMarkdown(changeLogLine));
             }
         }
-        Collections.reverse(changeLogLines);
-        StringBuilder changeLog = new StringBuilder();
-        for (String changeLogLine : changeLogLines) {
-            if (changeLog.length() + changeLogLine.length() > sizeLimit) {
-                break;
+        return changeLogLines;
+    }
+
+    private static String escapeMarkdown(String str) {
+        return str.replace("_", "\\_")
+                .replace("*", "\\*")
+                .replace("[", "\\[")
+                .replace("`", "\\`");
+    }
+
+    // Get the latest changes since the last successful build fitting the size limit,
+    // walking back from the build only until the limit is reached
+    private static String getChangeLog(@Nonnull Run<?, ?> run, int sizeLimit) {
+        if (!(run instanceof RunWithSCM)) {
+            return "";
+        }
+        String cacheKey = run.getExternalizableId() + "#" + sizeLimit;
+        synchronized (CHANGELOG_CACHE) {
+            String changeLog = CHANGELOG_CACHE.get(cacheKey);
+            if (changeLog != null) {
+                return changeLog;
+            }
+        }
+        String changeLog = buildChangeLog(run, sizeLimit);
+        synchronized (CHANGELOG_CACHE) {
+            CHANGELOG_CACHE.put(cacheKey, changeLog);
+        }
+        return changeLog;
+    }
+
+    // Build changelog of the build with SCM changesets, bypassing the cache
+    static String buildChangeLog(@Nonnull Run<?, ?> run, int sizeLimit) {
+        // Changelog lines, newest first
+        List<String> changeLogLines = new ArrayList<>();
+        int changeLogSize = 0;
+        Run<?, ?> build = run;
+        Result result;
+        collect: do {
+            List<String> buildChangeLogLines = getChangeLogLines(build);
+            for (int i = buildChangeLogLines.size() - 1; i >= 0; i--) {
+                String changeLogLine = buildChangeLogLines.get(i);
+                if (changeLogSize + changeLogLine.length() > sizeLimit) {
+                    break collect;
+                }
+                changeLogLines.add(changeLogLine);
+                changeLogSize += changeLogLine.length();
             }
-            changeLog.insert(0, changeLogLine);
+            build = build.getPreviousBuild();
+            result = (build != null) ? build.getResult() : null;
+        } while (build instanceof RunWithSCM && result != null
+                && result.isWorseThan(Result.SUCCESS));
+        StringBuilder changeLog = new StringBuilder(changeLogSize);
+        for (int i = changeLogLines.size() - 1; i >= 0; i--) {
+            changeLog.append(changeLogLines.get(i));
         }
         return changeLog.toString();
     }
 
     private void doFailAction(PrintStream logger, String message) throws AbortException {
+        // Don't go on with other artifacts if upload is cancelled
+        UploadCancellation cancellation = UploadCancellation.current();
+        if (cancellation != null && cancellation.isCancelled()) {
+            throw new AbortException("Telegram upload is cancelled");
+        }
+        TelegramUploaderMetrics.get().recordUploadFailure();
         if (this.failBuildIfUploadFailed) {
             throw new AbortException(message);
         }
         logger.println(message);
     }
 
-    private static HttpHost getHttpProxy(String httpProxyUri) {
+    static HttpHost getHttpProxy(String httpProxyUri) {
         HttpHost httpProxy = null;
         if (httpProxyUri != null && !httpProxyUri.isEmpty()) {
             URI proxyUri = URI.create(httpProxyUri);
@@ -440,143 +1354,582 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
         return httpProxy;
     }
 
-    private static CloseableHttpClient getHttpClient(HttpHost proxyHost, String httpProxyUser,
+    static CloseableHttpClient getHttpClient(HttpHost proxyHost, String httpProxyUser,
             String httpProxyPassword) {
+        return getHttpClientBuilder(proxyHost, httpProxyUser, httpProxyPassword).build();
+    }
+
+    private static HttpClientBuilder getHttpClientBuilder(HttpHost proxyHost,
+            String httpProxyUser, String httpProxyPassword) {
         CredentialsProvider httpProxyCredsProvider = new BasicCredentialsProvider();
         if (proxyHost != null && httpProxyUser != null && !httpProxyUser.trim().isEmpty()) {
             httpProxyCredsProvider.setCredentials(
                     new AuthScope(proxyHost.getHostName(), proxyHost.getPort()),
                     new UsernamePasswordCredentials(httpProxyUser.trim(), httpProxyPassword));
         }
-        return HttpClients.custom().setDefaultCredentialsProvider(httpProxyCredsProvider).build();
+        return HttpClients.custom().setDefaultCredentialsProvider(httpProxyCredsProvider);
     }
 
-    private static ResponseHandler<JSONObject> getTelegramResponseHandler() {
-        return new ResponseHandler<JSONObject>() {
+    static ResponseHandler<TelegramResponse> getTelegramResponseHandler() {
+        return new ResponseHandler<TelegramResponse>() {
             @Override
-            public JSONObject handleResponse(HttpResponse response)
+            public TelegramResponse handleResponse(HttpResponse response)
                     throws ClientProtocolException, IOException {
-                JSONObject result = null;
                 HttpEntity entity = response.getEntity();
-                String entityString = (entity != null) ? EntityUtils.toString(entity) : null;
-                try {
-                    result = JSONObject.fromObject(entityString);
-                } catch (JSONException e) {
-                    // Do nothing
+                if (entity == null) {
+                    return handleTelegramResponse(response.getStatusLine().getStatusCode(),
+                            null, null);
                 }
-                int statusCode = response.getStatusLine().getStatusCode();
-                if (statusCode < 200 || statusCode > 299) {
-                    throw new ClientProtocolException("Unexpected response status: "
-                            + statusCode + getTelegramErrorMessage(result));
+                try (InputStream content = entity.getContent()) {
+                    return handleTelegramResponse(response.getStatusLine().getStatusCode(),
+                            content, ContentType.getOrDefault(entity).getCharset());
                 }
-                return result;
             }
         };
     }
 
-    static boolean isTelegramResponseOk(JSONObject response) {
-        return response != null && response.optBoolean("ok");
+    // Parse Bot API response, content could be null if response has no body
+    static TelegramResponse handleTelegramResponse(int statusCode, InputStream content,
+            Charset charset) throws IOException {
+        TelegramResponse result = null;
+        if (content != null) {
+            result = TelegramResponse.parse(content,
+                    (charset != null) ? charset : StandardCharsets.UTF_8, RESPONSE_SIZE_LIMIT);
+        }
+        if (statusCode < 200 || statusCode > 299) {
+            int retryAfter = (result != null) ? result.getRetryAfter() : -1;
+            throw new TelegramApiException("Unexpected response status: "
+                    + statusCode + getTelegramErrorMessage(result), statusCode, retryAfter);
+        }
+        return result;
     }
 
-    static String getTelegramErrorDescription(JSONObject response) {
-        return (response != null) ? response.optString("description", null) : null;
+    static boolean isTelegramResponseOk(TelegramResponse response) {
+        return response != null && response.isOk();
     }
 
-    static String getTelegramErrorMessage(JSONObject response) {
+    static String getTelegramErrorDescription(TelegramResponse response) {
+        return (response != null) ? response.getDescription() : null;
+    }
+
+    static String getTelegramErrorMessage(TelegramResponse response) {
         String errorDescription = getTelegramErrorDescription(response);
         return (errorDescription != null) ? " (" + errorDescription + ")" : "";
     }
 
-    private static JSONObject sendTelegramRequest(HttpClient httpClient, HttpHost httpProxy,
-            String botApiServerUri, String botToken, String botMethod, HttpEntity botData)
+    static String getTelegramFileId(TelegramResponse response) {
+        return (response != null) ? response.getFileId() : null;
+    }
+
+    // Get message IDs from response with array of messages
+    static List<Integer> getTelegramMessageIds(TelegramResponse response) {
+        if (response == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> messageIds = new ArrayList<>(response.getMessageIds().size());
+        for (int messageId : response.getMessageIds()) {
+            if (messageId >= 0) {
+                messageIds.add(messageId);
+            }
+        }
+        return messageIds;
+    }
+
+    static int getTelegramMessageId(TelegramResponse response) {
+        return (response != null) ? response.getMessageId() : -1;
+    }
+
+    static TelegramResponse sendTelegramRequest(TelegramTransport transport, HttpHost httpProxy,
+            String botApiServerUri, String botToken, String botMethod, HttpEntity botData,
+            String chatId, TelegramRetryPolicy retryPolicy, PrintStream logger)
+                    throws IOException {
+        return sendTelegramRequest(transport, httpProxy, botApiServerUri, botToken, botMethod,
+                botData, chatId, retryPolicy, logger, TelegramRequestTracker.CONTROLLER, true);
+    }
+
+    // Request could be sent to unavailable Bot API server if it shouldn't fail fast
+    static TelegramResponse sendTelegramRequest(TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, String botMethod,
+            HttpEntity botData, String chatId, TelegramRetryPolicy retryPolicy,
+            PrintStream logger, TelegramRequestTracker tracker, boolean failFast)
+                    throws IOException {
+        // Streamed bundle part length is known after it's sent, timeouts are set for its max
+        ArtifactsBundle.Part bundlePart = (botData instanceof ArtifactsBundle.PartEntity)
+                ? ((ArtifactsBundle.PartEntity) botData).getPart() : null;
+        long bytes = (bundlePart != null) ? bundlePart.getMaxLength()
+                : (botData != null) ? botData.getContentLength() : 0;
+        TelegramTimeouts timeouts = retryPolicy.getTimeouts();
+        String requestUri = String.format("%s/bot%s/%s", botApiServerUri, botToken, botMethod);
+        HttpUriRequest request = RequestBuilder.post(requestUri)
+                .setEntity(botData)
+                .setConfig(timeouts.getRequestConfig(httpProxy, bytes))
+                .build();
+        // Non-repeatable request body can't be sent twice
+        if (botData != null && !botData.isRepeatable()) {
+            retryPolicy = retryPolicy.once();
+        }
+        // Requests of the cancellable upload are aborted on its cancel
+        UploadCancellation cancellation = UploadCancellation.current();
+        if (cancellation != null) {
+            cancellation.register(request);
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            for (int attempt = 1;; attempt++) {
+                tracker.acquire(botApiServerUri, botToken, chatId, failFast, logger);
+                long requestTime = System.nanoTime();
+                AtomicBoolean timedOut = new AtomicBoolean();
+                TelegramTimeouts.RequestTimer timeout = timeouts.schedule(() -> {
+                    timedOut.set(true);
+                    request.abort();
+                }, bytes);
+                tracker.requestStarted(botToken);
+                try {
+                    TelegramResponse response = transport.execute(request);
+                    tracker.recordResult(botApiServerUri, botToken, botMethod,
+                            System.nanoTime() - requestTime,
+                            (bundlePart != null) ? bundlePart.getLength() : bytes, null);
+                    return response;
+                } catch (IOException e) {
+                    if (timedOut.get()) {
+                        // Aborted request can't be sent again, timeouts aren't retried anyway
+                        e = new SocketTimeoutException("Telegram " + botMethod
+                                + " request timed out after "
+                                + TimeUnit.MILLISECONDS.toSeconds(
+                                        timeouts.getRequestTimeoutMillis(bytes)) + " s");
+                    } else if (request.isAborted()) {
+                        throw new InterruptedIOException("Telegram " + botMethod
+                                + " request aborted");
+                    }
+                    tracker.recordResult(botApiServerUri, botToken, botMethod,
+                            System.nanoTime() - requestTime, bytes, e);
+                    long retryDelay = timedOut.get() ? -1 : retryPolicy.getRetryDelay(e, attempt,
+                            System.currentTimeMillis() - startTime);
+                    if (retryDelay < 0) {
+                        throw e;
+                    }
+                    tracker.recordRetry();
+                    if (logger != null) {
+                        logger.println("Telegram " + botMethod + " request failed: "
+                                + e.getMessage() + ", retrying in " + retryDelay
+                                + " ms (attempt " + (attempt + 1) + " of "
+                                + retryPolicy.getMaxAttempts() + ")");
+                    }
+                    Thread.sleep(retryDelay);
+                } finally {
+                    if (timeout != null) {
+                        timeout.cancel();
+                    }
+                    tracker.requestFinished(botToken);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Telegram " + botMethod + " request interrupted");
+        } finally {
+            if (cancellation != null) {
+                cancellation.unregister(request);
+            }
+        }
+    }
+
+    // Connection failures, timeouts and server errors, but not API errors like bad request
+    static boolean isBotApiServerFailure(IOException e) {
+        if (e instanceof TelegramApiException) {
+            return ((TelegramApiException) e).getStatusCode()
+                    >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+        }
+        return !(e instanceof InterruptedIOException) || e instanceof SocketTimeoutException
+                || e instanceof ConnectTimeoutException;
+    }
+
+    private static void sendTelegramRequest(String botApiServerUri, String botToken,
+            String httpProxyUri, String httpProxyUser, String httpProxyPassword,
+            String botMethod) throws ClientProtocolException, IOException {
+        HttpHost httpProxy = getHttpProxy(httpProxyUri);
+        try (TelegramTransport transport = new ApacheHttpClientTransport(getHttpClient(httpProxy,
+                httpProxyUser, httpProxyPassword))) {
+            // Connection checks are sent to unavailable server too, they could close the breaker
+            TelegramResponse response = sendTelegramRequest(transport, httpProxy,
+                    resolveBotApiServerUri(botApiServerUri), botToken, botMethod, null,
+                    null, TelegramRetryPolicy.NONE, null, TelegramRequestTracker.CONTROLLER,
+                    false);
+            if (!isTelegramResponseOk(response)) {
+                throw new ClientProtocolException(getTelegramErrorDescription(response));
+            }
+        }
+    }
+
+    public TelegramResponse sendTelegramLink(TelegramTransport transport, HttpHost httpProxy,
+            String botApiServerUri, String botToken, String linkCaption, URL link, long size,
+            PrintStream logger) throws IOException {
+        HttpEntity data = getSendLinkEntity(this.chatId, this.silent, linkCaption, link, size);
+
+        return sendTelegramRequest(transport, httpProxy, botApiServerUri, botToken,
+                "sendMessage", data, this.chatId,
+                getDescriptor().getRetryPolicy(), logger);
+    }
+
+    static HttpEntity getSendLinkEntity(String chatId, boolean silent, String linkCaption,
+            URL link, long size) {
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        builder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
+
+        Charset charset = Charset.forName("UTF-8");
+        builder.setCharset(charset);
+
+        String text = String.format("[%s](%s) (%s)", Paths.get(link.getPath()).getFileName(),
+                link.toExternalForm(), Functions.humanReadableByteSize(size));
+        if (linkCaption != null && !linkCaption.isEmpty()) {
+            text += "\n\n" + linkCaption;
+        }
+
+        builder.addTextBody("chat_id", chatId, ContentType.DEFAULT_TEXT);
+        builder.addTextBody("parse_mode", "Markdown", ContentType.DEFAULT_TEXT);
+        builder.addTextBody("text", text, ContentType.TEXT_PLAIN.withCharset(charset));
+        builder.addTextBody("disable_web_page_preview", "true", ContentType.DEFAULT_BINARY);
+
+        if (silent) {
+            builder.addTextBody("disable_notification", "true", ContentType.DEFAULT_TEXT);
+        }
+
+        return builder.build();
+    }
+
+    // Send plain text lines, split into several messages if text size limit is exceeded,
+    // and return sent messages IDs
+    public List<Integer> sendTelegramMessage(TelegramTransport transport, HttpHost httpProxy,
+            String botApiServerUri, String botToken, List<String> lines, PrintStream logger)
+                    throws IOException {
+        List<String> texts = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            if (text.length() > 0
+                    && text.length() + 1 + line.length() > SEND_MESSAGE_TEXT_SIZE_LIMIT) {
+                texts.add(text.toString());
+                text.setLength(0);
+            }
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(line);
+        }
+        texts.add(text.toString());
+
+        Charset charset = Charset.forName("UTF-8");
+        List<Integer> messageIds = new ArrayList<>(texts.size());
+        for (String messageText : texts) {
+            MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+            builder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
+            builder.setCharset(charset);
+
+            builder.addTextBody("chat_id", this.chatId, ContentType.DEFAULT_TEXT);
+            builder.addTextBody("text", messageText, ContentType.TEXT_PLAIN.withCharset(charset));
+
+            if (this.silent) {
+                builder.addTextBody("disable_notification", "true", ContentType.DEFAULT_TEXT);
+            }
+
+            TelegramResponse response = sendTelegramRequest(transport, httpProxy, botApiServerUri,
+                    botToken, "sendMessage", builder.build(), this.chatId,
+                    getDescriptor().getRetryPolicy(), logger);
+            if (!isTelegramResponseOk(response)) {
+                throw new ClientProtocolException(getTelegramErrorDescription(response));
+            }
+            messageIds.add(getTelegramMessageId(response));
+        }
+        return messageIds;
+    }
+
+    static HttpEntity getSendDocumentEntity(String chatId, boolean silent, String fileCaption,
+            ContentBody document) {
+        // Build multipart upload request
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        builder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
+
+        Charset charset = Charset.forName("UTF-8");
+        builder.setCharset(charset);
+
+        // Add parts to multipart request
+        builder.addTextBody("chat_id", chatId, ContentType.DEFAULT_TEXT);
+
+        if (silent) {
+            builder.addTextBody("disable_notification", "true", ContentType.DEFAULT_TEXT);
+        }
+
+        if (fileCaption != null && !fileCaption.isEmpty()) {
+            builder.addTextBody("parse_mode", "Markdown", ContentType.DEFAULT_TEXT);
+            builder.addTextBody("caption", fileCaption,
+                    ContentType.TEXT_PLAIN.withCharset(charset));
+        }
+
+        builder.addPart("document", document);
+
+        return builder.build();
+    }
+
+    // File SHA-256 digest is computed if it's not known and needed to reuse uploaded file
+    public TelegramResponse sendTelegramFile(Run<?, ?> build, TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, String fileCaption,
+            VirtualFile file, String fileHash, PrintStream logger) throws IOException {
+        TelegramUploaderDescriptor descriptor = getDescriptor();
+        TelegramFileIdCache fileIdCache = this.reuseUploadedFiles
+                ? descriptor.getFileIdCache() : null;
+        String botId = TelegramRateLimiter.getBotId(botToken);
+
+        if (fileIdCache != null) {
+            if (fileHash == null) {
+                fileHash = ArtifactDigests.getDigest(file);
+            }
+            String fileId = fileIdCache.get(botId, botApiServerUri, fileHash);
+            if (fileId != null) {
+                if (logger != null) {
+                    logger.println("Sending previously uploaded file '" + file.getName()
+                            + "' by its Telegram file ID");
+                }
+                HttpEntity data = getSendDocumentEntity(this.chatId, this.silent, fileCaption,
+                        new StringBody(fileId, ContentType.DEFAULT_TEXT));
+                try {
+                    TelegramResponse response = sendTelegramRequest(transport, httpProxy,
+                            botApiServerUri, botToken, "sendDocument", data, this.chatId,
+                            descriptor.getRetryPolicy(), logger);
+                    if (isTelegramResponseOk(response)) {
+                        return response;
+                    }
+                } catch (TelegramApiException e) {
+                    if (e.getStatusCode() != HttpStatus.SC_BAD_REQUEST) {
+                        throw e;
+                    }
+                }
+                // File ID is expired or unknown to the Bot API server, upload file itself
+                fileIdCache.remove(botId, botApiServerUri, fileHash);
+                if (logger != null) {
+                    logger.println("Telegram file ID of '" + file.getName()
+                            + "' was rejected, uploading file");
+                }
+            }
+        }
+
+        // Local Bot API server could read the file itself if it shares the filesystem
+        String serverFileUri = isTelegramBotApiServerUri(botApiServerUri) ? null
+                : descriptor.getLocalFilePaths().getServerFileUri(file,
+                        build.getArtifactManager().root());
+        if (serverFileUri != null) {
+            if (logger != null) {
+                logger.println("Sending file '" + file.getName()
+                        + "' by its local Bot API server URI '" + serverFileUri + "'");
+            }
+            HttpEntity data = getSendDocumentEntity(this.chatId, this.silent, fileCaption,
+                    new StringBody(serverFileUri,
+                            ContentType.TEXT_PLAIN.withCharset(StandardCharsets.UTF_8)));
+            try {
+                TelegramResponse response = sendTelegramRequest(transport, httpProxy,
+                        botApiServerUri, botToken, "sendDocument", data, this.chatId,
+                        descriptor.getRetryPolicy(), logger);
+                if (isTelegramResponseOk(response)) {
+                    cacheFileId(fileIdCache, botId, botApiServerUri, fileHash, response);
+                    return response;
+                }
+            } catch (TelegramApiException e) {
+                if (e.getStatusCode() != HttpStatus.SC_BAD_REQUEST) {
+                    throw e;
+                }
+            }
+            // File isn't visible to the Bot API server, upload file itself
+            if (logger != null) {
+                logger.println("Local Bot API server can't read file '" + serverFileUri
+                        + "', uploading file");
+            }
+        }
+
+        HttpEntity data = throttle(getSendDocumentEntity(this.chatId, this.silent, fileCaption,
+                new VirtualFileBody(file, ContentType.DEFAULT_BINARY)), build, file.getName(),
+                logger);
+
+        TelegramResponse response = sendTelegramRequest(transport, httpProxy, botApiServerUri,
+                botToken, "sendDocument", data, this.chatId, descriptor.getRetryPolicy(), logger);
+
+        if (isTelegramResponseOk(response)) {
+            cacheFileId(fileIdCache, botId, botApiServerUri, fileHash, response);
+        }
+
+        return response;
+    }
+
+    private static void cacheFileId(TelegramFileIdCache fileIdCache, String botId,
+            String botApiServerUri, String fileHash, TelegramResponse response) {
+        String fileId = getTelegramFileId(response);
+        if (fileIdCache != null && fileId != null) {
+            fileIdCache.put(botId, botApiServerUri, fileHash, fileId);
+        }
+    }
+
+    // Files SHA-256 digests are computed if they are not known and needed to reuse uploaded files
+    public TelegramResponse sendTelegramMediaGroup(Run<?, ?> build, TelegramTransport transport,
+            HttpHost httpProxy, String botApiServerUri, String botToken, String groupCaption,
+            List<VirtualFile> files, List<String> knownFileHashes, PrintStream logger)
                     throws IOException {
-        RequestConfig requestConfig = (httpProxy == null) ? RequestConfig.DEFAULT :
-            RequestConfig.custom().setProxy(httpProxy).build();
-        String requestUri = String.format("%s/bot%s/%s", botApiServerUri, botToken, botMethod);
-        HttpUriRequest request = RequestBuilder.post(requestUri)
-                .setEntity(botData)
-                .setConfig(requestConfig)
-                .build();
-        return httpClient.execute(request, getTelegramResponseHandler());
-    }
+        TelegramUploaderDescriptor descriptor = getDescriptor();
+        TelegramFileIdCache fileIdCache = this.reuseUploadedFiles
+                ? descriptor.getFileIdCache() : null;
+        String botId = TelegramRateLimiter.getBotId(botToken);
+
+        // Get cached file IDs of group files, if any
+        List<String> fileHashes = new ArrayList<>(files.size());
+        List<String> fileIds = new ArrayList<>(files.size());
+        boolean hasFileIds = false;
+        for (int i = 0; i < files.size(); i++) {
+            String fileHash = null;
+            String fileId = null;
+            if (fileIdCache != null) {
+                fileHash = (knownFileHashes != null) ? knownFileHashes.get(i)
+                        : ArtifactDigests.getDigest(files.get(i));
+                fileId = fileIdCache.get(botId, botApiServerUri, fileHash);
+                hasFileIds |= (fileId != null);
+            }
+            fileHashes.add(fileHash);
+            fileIds.add(fileId);
+        }
 
-    private static void sendTelegramRequest(String botApiServerUri, String botToken,
-            String httpProxyUri, String httpProxyUser, String httpProxyPassword,
-            String botMethod) throws ClientProtocolException, IOException {
-        HttpHost httpProxy = getHttpProxy(httpProxyUri);
-        try (CloseableHttpClient httpClient = getHttpClient(httpProxy,
-                httpProxyUser, httpProxyPassword)) {
-            JSONObject response = sendTelegramRequest(httpClient, httpProxy,
-                    resolveBotApiServerUri(botApiServerUri), botToken, botMethod, null);
-            if (!isTelegramResponseOk(response)) {
-                throw new ClientProtocolException(getTelegramErrorDescription(response));
+        if (hasFileIds) {
+            try {
+                TelegramResponse response = sendTelegramRequest(transport, httpProxy,
+                        botApiServerUri, botToken, "sendMediaGroup",
+                        getSendMediaGroupEntity(groupCaption, files, fileIds), this.chatId,
+                        descriptor.getRetryPolicy(), logger);
+                if (isTelegramResponseOk(response)) {
+                    cacheMediaGroupFileIds(fileIdCache, botId, botApiServerUri, fileHashes,
+                            fileIds, response);
+                    return response;
+                }
+            } catch (TelegramApiException e) {
+                if (e.getStatusCode() != HttpStatus.SC_BAD_REQUEST) {
+                    throw e;
+                }
+            }
+            // Some of file IDs are expired or unknown to the Bot API server, upload all files
+            for (int i = 0; i < files.size(); i++) {
+                if (fileIds.get(i) != null) {
+                    fileIdCache.remove(botId, botApiServerUri, fileHashes.get(i));
+                    fileIds.set(i, null);
+                }
+            }
+            if (logger != null) {
+                logger.println("Telegram file IDs of media group files were rejected, "
+                        + "uploading files");
             }
         }
+
+        HttpEntity data = throttle(getSendMediaGroupEntity(groupCaption, files, fileIds), build,
+                "media group of " + files.size() + " files", logger);
+        TelegramResponse response = sendTelegramRequest(transport, httpProxy, botApiServerUri,
+                botToken, "sendMediaGroup", data, this.chatId, descriptor.getRetryPolicy(),
+                logger);
+
+        if (fileIdCache != null && isTelegramResponseOk(response)) {
+            cacheMediaGroupFileIds(fileIdCache, botId, botApiServerUri, fileHashes, fileIds,
+                    response);
+        }
+
+        return response;
     }
 
-    public JSONObject sendTelegramLink(HttpClient httpClient, HttpHost httpProxy,
-            String botApiServerUri, String botToken, String linkCaption, URL link, long size)
-                    throws IOException {
+    // Build media group of documents, files with known file IDs are sent by these IDs
+    private HttpEntity getSendMediaGroupEntity(String groupCaption, List<VirtualFile> files,
+            List<String> fileIds) throws IOException {
         MultipartEntityBuilder builder = MultipartEntityBuilder.create();
         builder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
 
         Charset charset = Charset.forName("UTF-8");
         builder.setCharset(charset);
 
-        String text = String.format("[%s](%s) (%s)", Paths.get(link.getPath()).getFileName(),
-                link.toExternalForm(), Functions.humanReadableByteSize(size));
-        if (linkCaption != null && !linkCaption.isEmpty()) {
-            text += "\n\n" + linkCaption;
-        }
-
         builder.addTextBody("chat_id", this.chatId, ContentType.DEFAULT_TEXT);
-        builder.addTextBody("parse_mode", "Markdown", ContentType.DEFAULT_TEXT);
-        builder.addTextBody("text", text, ContentType.TEXT_PLAIN.withCharset(charset));
-        builder.addTextBody("disable_web_page_preview", "true", ContentType.DEFAULT_BINARY);
 
         if (this.silent) {
             builder.addTextBody("disable_notification", "true", ContentType.DEFAULT_TEXT);
         }
 
-        HttpEntity data = builder.build();
+        // Use org.json here since net.sf.json parses string values looking like JSON
+        int captionIndex = this.captionOnLastGroupItem ? files.size() - 1 : 0;
+        org.json.JSONArray media = new org.json.JSONArray();
+        for (int i = 0; i < files.size(); i++) {
+            org.json.JSONObject item = new org.json.JSONObject();
+            item.put("type", "document");
+            if (fileIds.get(i) != null) {
+                item.put("media", fileIds.get(i));
+            } else {
+                String attachName = "file" + i;
+                item.put("media", "attach://" + attachName);
+                builder.addPart(attachName,
+                        new VirtualFileBody(files.get(i), ContentType.DEFAULT_BINARY));
+            }
+            if (i == captionIndex && groupCaption != null && !groupCaption.isEmpty()) {
+                item.put("caption", groupCaption);
+                item.put("parse_mode", "Markdown");
+            }
+            media.put(item);
+        }
+        builder.addTextBody("media", media.toString(), ContentType.APPLICATION_JSON);
 
-        return sendTelegramRequest(httpClient, httpProxy, botApiServerUri, botToken,
-                "sendMessage", data);
+        return builder.build();
     }
 
-    public JSONObject sendTelegramFile(HttpClient httpClient, HttpHost httpProxy,
-            String botApiServerUri, String botToken, String fileCaption, File file)
-                    throws IOException {
-        // Build multipart upload request
+    // Select bot to upload with from the configured ones
+    private String selectBotToken(TelegramUploaderDescriptor descriptor) {
+        String botToken = TelegramBotPool.get().select(descriptor.getBotTokens(), this.chatId,
+                this.useLeastLoadedBot);
+        return (botToken != null) ? botToken : "";
+    }
+
+    // Apply bandwidth limits to the uploaded files request body of the build
+    private static HttpEntity throttle(HttpEntity data, Run<?, ?> build, String name,
+            PrintStream logger) {
+        return TelegramBandwidthLimiter.get().throttle(data,
+                (build != null) ? build.getExternalizableId() : null, name, logger);
+    }
+
+    private static void cacheMediaGroupFileIds(TelegramFileIdCache fileIdCache, String botId,
+            String botApiServerUri, List<String> fileHashes, List<String> fileIds,
+            TelegramResponse response) {
+        List<String> responseFileIds = response.getFileIds();
+        if (fileIdCache == null || responseFileIds.size() != fileHashes.size()) {
+            return;
+        }
+        for (int i = 0; i < fileHashes.size(); i++) {
+            String fileId = responseFileIds.get(i);
+            if (fileIds.get(i) == null && fileId != null) {
+                fileIdCache.put(botId, botApiServerUri, fileHashes.get(i), fileId);
+            }
+        }
+    }
+
+    public TelegramResponse forwardTelegramMessage(TelegramTransport transport, HttpHost httpProxy,
+            String botApiServerUri, String botToken, int messageId, String forwardChatId,
+            PrintStream logger) throws IOException {
         MultipartEntityBuilder builder = MultipartEntityBuilder.create();
         builder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
 
         Charset charset = Charset.forName("UTF-8");
         builder.setCharset(charset);
 
-        // Add parts to multipart request
-        builder.addTextBody("chat_id", this.chatId, ContentType.DEFAULT_TEXT);
+        builder.addTextBody("from_chat_id", this.chatId, ContentType.DEFAULT_TEXT);
+        builder.addTextBody("chat_id", forwardChatId, ContentType.DEFAULT_TEXT);
+        builder.addTextBody("message_id", Integer.toString(messageId), ContentType.DEFAULT_TEXT);
 
         if (this.silent) {
             builder.addTextBody("disable_notification", "true", ContentType.DEFAULT_TEXT);
         }
 
-        if (fileCaption != null && !fileCaption.isEmpty()) {
-            builder.addTextBody("parse_mode", "Markdown", ContentType.DEFAULT_TEXT);
-            builder.addTextBody("caption", fileCaption, ContentType.TEXT_PLAIN.withCharset(charset));
-        }
-
-        builder.addBinaryBody("document", file, ContentType.DEFAULT_BINARY, file.getName());
-
         HttpEntity data = builder.build();
 
-        return sendTelegramRequest(httpClient, httpProxy, botApiServerUri, botToken,
-                "sendDocument", data);
+        return sendTelegramRequest(transport, httpProxy, botApiServerUri, botToken,
+                this.copyForwardedArtifacts ? "copyMessage" : "forwardMessage", data,
+                forwardChatId, getDescriptor().getRetryPolicy(), logger);
     }
 
-    public JSONObject forwardTelegramMessage(HttpClient httpClient, HttpHost httpProxy,
-            String botApiServerUri, String botToken, int messageId, String forwardChatId)
-                    throws IOException {
+    public TelegramResponse forwardTelegramMessages(TelegramTransport transport, HttpHost httpProxy,
+            String botApiServerUri, String botToken, List<Integer> messageIds,
+            String forwardChatId, PrintStream logger) throws IOException {
         MultipartEntityBuilder builder = MultipartEntityBuilder.create();
         builder.setMode(HttpMultipartMode.BROWSER_COMPATIBLE);
 
@@ -585,7 +1938,7 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
 
         builder.addTextBody("from_chat_id", this.chatId, ContentType.DEFAULT_TEXT);
         builder.addTextBody("chat_id", forwardChatId, ContentType.DEFAULT_TEXT);
-        builder.addTextBody("message_id", Integer.toString(messageId), ContentType.DEFAULT_TEXT);
+        builder.addTextBody("message_ids", messageIds.toString(), ContentType.APPLICATION_JSON);
 
         if (this.silent) {
             builder.addTextBody("disable_notification", "true", ContentType.DEFAULT_TEXT);
@@ -593,8 +1946,9 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
 
         HttpEntity data = builder.build();
 
-        return sendTelegramRequest(httpClient, httpProxy, botApiServerUri, botToken,
-                "forwardMessage", data);
+        return sendTelegramRequest(transport, httpProxy, botApiServerUri, botToken,
+                this.copyForwardedArtifacts ? "copyMessages" : "forwardMessages", data,
+                forwardChatId, getDescriptor().getRetryPolicy(), logger);
     }
 
     public static void checkTelegramConnection(String botApiServerUri, String botToken,
@@ -611,6 +1965,12 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
                 httpProxyPassword, "logOut");
     }
 
+    private static long getSendFileSizeLimit(String botApiServerUri) {
+        return isTelegramBotApiServerUri(botApiServerUri)
+                ? TELEGRAM_BOT_API_SERVER_SEND_FILE_SIZE_LIMIT
+                        : LOCAL_BOT_API_SERVER_SEND_FILE_SIZE_LIMIT;
+    }
+
     private static boolean isTelegramBotApiServerUri(String botApiServerUri) {
         return URI.create(TELEGRAM_BOT_API_SERVER_URI).equals(URI.create(botApiServerUri));
     }
@@ -621,17 +1981,179 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
                 : TELEGRAM_BOT_API_SERVER_URI;
     }
 
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    public static void resumeUploadQueue() {
+        TelegramUploaderDescriptor descriptor = getUploaderDescriptor();
+        if (descriptor != null) {
+            descriptor.getUploadQueue().resume();
+        }
+    }
+
+    @Terminator
+    public static void shutdownHttpClient() {
+        TelegramUploaderDescriptor descriptor = getUploaderDescriptor();
+        if (descriptor != null) {
+            // Stop queued uploads before closing the HTTP client they use
+            descriptor.stopUploadQueue();
+            descriptor.closeTransport();
+            descriptor.flushFileIdCache();
+        }
+    }
+
+    private static TelegramUploaderDescriptor getUploaderDescriptor() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        return (jenkins != null)
+                ? jenkins.getDescriptorByType(TelegramUploaderDescriptor.class) : null;
+    }
+
+    // Wait while configured Bot API server is unavailable
+    static void awaitBotApiServer() throws InterruptedException {
+        TelegramUploaderDescriptor descriptor = getUploaderDescriptor();
+        if (descriptor != null) {
+            TelegramCircuitBreaker.get(resolveBotApiServerUri(descriptor.getBotApiServerUri()))
+                    .awaitAvailable();
+        }
+    }
+
     @Symbol("telegramUploader")
     @Extension
     public static final class TelegramUploaderDescriptor extends BuildStepDescriptor<Publisher> {
+        // Max number of pooled HTTP connections, total and per Bot API server
+        private final static int HTTP_CLIENT_MAX_CONNECTIONS = 20;
+
+        // Idle pooled HTTP connections are evicted after this time
+        private final static long HTTP_CLIENT_MAX_IDLE_TIME_SECONDS = 30;
+
+        // Keep-alive time for connections if server doesn't specify it
+        private final static long HTTP_CLIENT_KEEP_ALIVE_MILLIS = 60 * 1000;
+
+        // Default max number of artifacts uploaded concurrently by a single build
+        private final static int DEFAULT_MAX_UPLOAD_PARALLELISM = 4;
+
+        // Default max number of attempts to send a Bot API request
+        private final static int DEFAULT_MAX_REQUEST_ATTEMPTS = 5;
+
+        // Default time limit in seconds for all attempts to send a Bot API request
+        private final static int DEFAULT_REQUEST_RETRY_DEADLINE = 300;
+
+        // Default max number of cached file IDs per bot and Bot API server
+        private final static int DEFAULT_FILE_ID_CACHE_SIZE = 1000;
+
+        // Default number of threads uploading queued artifacts
+        private final static int DEFAULT_ASYNC_UPLOAD_WORKERS = 2;
+
+        // Default max number of queued and in progress asynchronous uploads
+        private final static int DEFAULT_ASYNC_UPLOAD_QUEUE_DEPTH = 100;
+
+        // Asynchronous upload queue directory name in the Jenkins home directory
+        private final static String ASYNC_UPLOAD_QUEUE_DIR = "telegram-uploader-queue";
+
         private String botApiServerUri;
+        private String localFilePathMapping;
         private Secret botToken;
+        // More bots to shard uploads across, one token per line
+        private Secret additionalBotTokens;
         private String httpProxyUri;
         private String httpProxyUser;
         private Secret httpProxyPassword;
+        private int maxUploadParallelism;
+        private int maxRequestAttempts;
+        private int requestRetryDeadline;
+        private int fileIdCacheSize;
+        private int asyncUploadWorkers;
+        private int asyncUploadQueueDepth;
+        private String asyncUploadQueueFullAction;
+        // Upload bandwidth limits in KiB/s, 0 if not limited
+        private int uploadBandwidthLimit;
+        private int buildUploadBandwidthLimit;
+        // Request timeouts in seconds and min upload speed in KiB/s they are scaled with
+        private Integer connectTimeout;
+        private Integer readTimeout;
+        private Integer requestTimeout;
+        private Integer minUploadSpeed;
+        private String httpTransport;
+
+        // HTTP transport shared by all uploads, replaced on connection settings change
+        private transient SharedTransport transport;
+        private transient PoolingHttpClientConnectionManager httpConnectionManager;
+        private transient List<String> transportSettings;
+
+        private transient TelegramFileIdCache fileIdCache;
+
+        private transient TelegramUploadQueue uploadQueue;
 
         public TelegramUploaderDescriptor() {
             load();
+            applyBandwidthLimits();
+            TelegramCircuitBreaker.setProbe(this::probeBotApiServer);
+        }
+
+        // Lease shared HTTP transport, the lease should be closed after the upload
+        synchronized TelegramTransport acquireTransport() {
+            updateTransport();
+            return this.transport.acquire();
+        }
+
+        private synchronized void updateTransport() {
+            String httpProxyPassword = Secret.toString(this.httpProxyPassword);
+            TelegramTransport.Type transportType = getTransportType();
+            List<String> settings = Arrays.asList(resolveBotApiServerUri(this.botApiServerUri),
+                    this.httpProxyUri, this.httpProxyUser, httpProxyPassword,
+                    transportType.name(), String.valueOf(getConnectTimeout()));
+            if (this.transport != null && settings.equals(this.transportSettings)) {
+                return;
+            }
+            // Uploads in flight keep using the old transport until they are finished
+            closeTransport();
+            TelegramTransport newTransport = null;
+            // Java HTTP client doesn't authenticate HTTPS tunnels, Apache HttpClient is used then
+            if (transportType == TelegramTransport.Type.HTTP_2
+                    && Util.fixEmptyAndTrim(this.httpProxyUser) == null) {
+                try {
+                    newTransport = new JdkHttpClientTransport(getHttpProxy(this.httpProxyUri),
+                            TimeUnit.SECONDS.toMillis(getConnectTimeout()));
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Can't create HTTP/2 client, "
+                            + "falling back to Apache HttpClient", e);
+                }
+            }
+            if (newTransport == null) {
+                PoolingHttpClientConnectionManager connectionManager =
+                        new PoolingHttpClientConnectionManager();
+                connectionManager.setMaxTotal(HTTP_CLIENT_MAX_CONNECTIONS);
+                connectionManager.setDefaultMaxPerRoute(HTTP_CLIENT_MAX_CONNECTIONS);
+                CloseableHttpClient httpClient = getHttpClientBuilder(
+                        getHttpProxy(this.httpProxyUri), this.httpProxyUser, httpProxyPassword)
+                        .setConnectionManager(connectionManager)
+                        .setKeepAliveStrategy((response, context) -> {
+                            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                    .getKeepAliveDuration(response, context);
+                            return (keepAlive > 0) ? keepAlive : HTTP_CLIENT_KEEP_ALIVE_MILLIS;
+                        })
+                        .evictExpiredConnections()
+                        .evictIdleConnections(HTTP_CLIENT_MAX_IDLE_TIME_SECONDS, TimeUnit.SECONDS)
+                        .build();
+                newTransport = new ApacheHttpClientTransport(httpClient);
+                this.httpConnectionManager = connectionManager;
+            }
+            this.transport = new SharedTransport(newTransport);
+            this.transportSettings = settings;
+        }
+
+        // Transport is closed once uploads in flight are finished
+        synchronized void closeTransport() {
+            if (this.transport == null) {
+                return;
+            }
+            this.transport.retire();
+            this.transport = null;
+            this.httpConnectionManager = null;
+            this.transportSettings = null;
+        }
+
+        public synchronized PoolStats getHttpConnectionPoolStats() {
+            return (this.httpConnectionManager != null)
+                    ? this.httpConnectionManager.getTotalStats() : null;
         }
 
         @SuppressWarnings("rawtypes")
@@ -653,6 +2175,137 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
             return FormValidation.ok();
         }
 
+        public FormValidation doCheckUploadParallelism(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
+        public FormValidation doCheckUploadFromAgent(@QueryParameter boolean value,
+                @QueryParameter boolean sendAsMediaGroup,
+                @QueryParameter boolean splitOversizedArtifacts,
+                @QueryParameter boolean bundleArtifacts,
+                @QueryParameter boolean reuseUploadedFiles,
+                @QueryParameter String unchangedArtifacts,
+                @QueryParameter boolean uploadAsynchronously,
+                @QueryParameter boolean sendLinkIfUploadSizeLimitExceeded) {
+            if (!value) {
+                return FormValidation.ok();
+            }
+            List<String> unsupportedOptions = getAgentUnsupportedOptions(sendAsMediaGroup,
+                    splitOversizedArtifacts, bundleArtifacts, reuseUploadedFiles,
+                    unchangedArtifacts, uploadAsynchronously, sendLinkIfUploadSizeLimitExceeded);
+            if (!unsupportedOptions.isEmpty()) {
+                return FormValidation.error("Options not supported when uploading from agent: "
+                        + String.join(", ", unsupportedOptions));
+            }
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckBundleCompressionLevel(@QueryParameter String value) {
+            try {
+                int level = Integer.parseInt(value);
+                if (level >= 0 && level <= 9) {
+                    return FormValidation.ok();
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            return FormValidation.error("Compression level must be from 0 (no compression) "
+                    + "to 9 (best compression)");
+        }
+
+        public FormValidation doCheckMaxArtifacts(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public ListBoxModel doFillArtifactsOrderItems() {
+            return getArtifactsOrderItems();
+        }
+
+        public ListBoxModel doFillUnchangedArtifactsItems() {
+            return getUnchangedArtifactsItems();
+        }
+
+        static ListBoxModel getUnchangedArtifactsItems() {
+            ListBoxModel items = new ListBoxModel();
+            for (ChangedArtifacts.Unchanged unchanged : ChangedArtifacts.Unchanged.values()) {
+                items.add(unchanged.getDisplayName(), unchanged.name());
+            }
+            return items;
+        }
+
+        static ListBoxModel getArtifactsOrderItems() {
+            ListBoxModel items = new ListBoxModel();
+            for (ArtifactsMatcher.Order order : ArtifactsMatcher.Order.values()) {
+                items.add(order.getDisplayName(), order.name());
+            }
+            return items;
+        }
+
+        public FormValidation doCheckMaxUploadParallelism(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
+        public FormValidation doCheckMaxRequestAttempts(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
+        public FormValidation doCheckRequestRetryDeadline(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
+        public FormValidation doCheckFileIdCacheSize(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
+        public FormValidation doCheckAsyncUploadWorkers(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
+        public FormValidation doCheckAsyncUploadQueueDepth(@QueryParameter String value) {
+            return FormValidation.validatePositiveInteger(value);
+        }
+
+        public FormValidation doCheckUploadBandwidthLimit(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public FormValidation doCheckBuildUploadBandwidthLimit(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public FormValidation doCheckConnectTimeout(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public FormValidation doCheckReadTimeout(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public FormValidation doCheckRequestTimeout(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public FormValidation doCheckMinUploadSpeed(@QueryParameter String value) {
+            return FormValidation.validateNonNegativeInteger(value);
+        }
+
+        public ListBoxModel doFillHttpTransportItems() {
+            ListBoxModel items = new ListBoxModel();
+            for (TelegramTransport.Type type : TelegramTransport.Type.values()) {
+                items.add(type.getDisplayName(), type.name());
+            }
+            return items;
+        }
+
+        public ListBoxModel doFillAsyncUploadQueueFullActionItems() {
+            ListBoxModel items = new ListBoxModel();
+            for (TelegramUploadQueue.QueueFullAction action
+                    : TelegramUploadQueue.QueueFullAction.values()) {
+                items.add(action.getDisplayName(), action.name());
+            }
+            return items;
+        }
+
         public FormValidation doCheckBotApiServerUri(@QueryParameter String value) {
             if (!value.isEmpty()) {
                 URI uri;
@@ -670,6 +2323,15 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
         }
 
 
+        public FormValidation doCheckLocalFilePathMapping(@QueryParameter String value) {
+            try {
+                LocalFilePathMapping.parse(value);
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(e.getMessage());
+            }
+            return FormValidation.ok();
+        }
+
         public FormValidation doCheckBotToken(@QueryParameter String value) {
             if (value.isEmpty()) {
                 return FormValidation.error("Bot token must not be empty");
@@ -697,6 +2359,7 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
         public FormValidation doTestConnection(
                 @QueryParameter("botApiServerUri") String botApiServerUri,
                 @QueryParameter("botToken") Secret token,
+                @QueryParameter("additionalBotTokens") Secret additionalTokens,
                 @QueryParameter("httpProxyUri") String proxyUri,
                 @QueryParameter("httpProxyUser") String proxyUser,
                 @QueryParameter("httpProxyPassword") Secret proxyPassword) throws IOException {
@@ -706,20 +2369,29 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
             }
             jenkins.checkPermission(Jenkins.ADMINISTER);
 
-            try {
-                TelegramUploader.checkTelegramConnection(botApiServerUri, Secret.toString(token),
-                        proxyUri, proxyUser, Secret.toString(proxyPassword));
-            } catch (Exception e) {
-                return FormValidation.errorWithMarkup("<p>Can't connect to Telegram!</p><pre>" +
-                        Util.escape(Functions.printThrowable(e)) + "</pre>");
+            List<String> botTokens = getBotTokens(token, additionalTokens);
+            List<FormValidation> results = new ArrayList<>(botTokens.size());
+            for (String botToken : botTokens) {
+                String bot = getBotName(botTokens, botToken);
+                try {
+                    TelegramUploader.checkTelegramConnection(botApiServerUri, botToken,
+                            proxyUri, proxyUser, Secret.toString(proxyPassword));
+                } catch (Exception e) {
+                    results.add(FormValidation.errorWithMarkup("<p>" + Util.escape(bot)
+                            + "Can't connect to Telegram!</p><pre>"
+                            + Util.escape(Functions.printThrowable(e)) + "</pre>"));
+                    continue;
+                }
+                results.add(FormValidation.ok(bot + "Successfully connected to Telegram!"));
             }
 
-            return FormValidation.ok("Successfully connected to Telegram!");
+            return FormValidation.aggregate(results);
         }
 
         public FormValidation doLogOut(
                 @QueryParameter("botApiServerUri") String botApiServerUri,
                 @QueryParameter("botToken") Secret token,
+                @QueryParameter("additionalBotTokens") Secret additionalTokens,
                 @QueryParameter("httpProxyUri") String proxyUri,
                 @QueryParameter("httpProxyUser") String proxyUser,
                 @QueryParameter("httpProxyPassword") Secret proxyPassword) throws IOException {
@@ -729,26 +2401,97 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
             }
             jenkins.checkPermission(Jenkins.ADMINISTER);
 
-            try {
-                TelegramUploader.logOutFromBotApiServer(botApiServerUri, Secret.toString(token),
-                        proxyUri, proxyUser, Secret.toString(proxyPassword));
-            } catch (Exception e) {
-                return FormValidation.errorWithMarkup("<p>Can't log out from Bot API server!</p><pre>" +
-                        Util.escape(Functions.printThrowable(e)) + "</pre>");
+            List<String> botTokens = getBotTokens(token, additionalTokens);
+            List<FormValidation> results = new ArrayList<>(botTokens.size());
+            for (String botToken : botTokens) {
+                String bot = getBotName(botTokens, botToken);
+                try {
+                    TelegramUploader.logOutFromBotApiServer(botApiServerUri, botToken,
+                            proxyUri, proxyUser, Secret.toString(proxyPassword));
+                } catch (Exception e) {
+                    results.add(FormValidation.errorWithMarkup("<p>" + Util.escape(bot)
+                            + "Can't log out from Bot API server!</p><pre>"
+                            + Util.escape(Functions.printThrowable(e)) + "</pre>"));
+                    continue;
+                }
+                results.add(FormValidation.ok(bot
+                        + "Successfully logged out from Bot API server!"));
+            }
+
+            return FormValidation.aggregate(results);
+        }
+
+        // Bot tokens of the pool, the main bot token first
+        private static List<String> getBotTokens(Secret botToken, Secret additionalBotTokens) {
+            List<String> botTokens = new ArrayList<>();
+            botTokens.add(Secret.toString(botToken).trim());
+            for (String additionalBotToken
+                    : Secret.toString(additionalBotTokens).split("[\\s,]+")) {
+                if (!additionalBotToken.isEmpty() && !botTokens.contains(additionalBotToken)) {
+                    botTokens.add(additionalBotToken);
+                }
+            }
+            // Keep empty main bot token only if there are no others
+            if (botTokens.size() > 1 && botTokens.get(0).isEmpty()) {
+                botTokens.remove(0);
             }
+            return botTokens;
+        }
 
-            return FormValidation.ok("Successfully logged out from Bot API server!");
+        // Bot name prefix for messages, empty if there is only one bot
+        private static String getBotName(List<String> botTokens, String botToken) {
+            return (botTokens.size() > 1)
+                    ? "Bot " + TelegramRateLimiter.getBotId(botToken) + ": " : "";
         }
 
         @Override
         public boolean configure(StaplerRequest req, JSONObject json) throws FormException {
             JSONObject config = json.getJSONObject("telegram-uploader");
             this.botApiServerUri = config.getString("botApiServerUri");
+            this.localFilePathMapping = config.optString("localFilePathMapping", null);
             this.botToken = Secret.fromString(config.getString("botToken"));
+            this.additionalBotTokens = Secret.fromString(config.optString("additionalBotTokens",
+                    null));
             this.httpProxyUri = config.getString("httpProxyUri");
             this.httpProxyUser = config.getString("httpProxyUser");
             this.httpProxyPassword = Secret.fromString(config.getString("httpProxyPassword"));
+            this.maxUploadParallelism = config.optInt("maxUploadParallelism",
+                    DEFAULT_MAX_UPLOAD_PARALLELISM);
+            this.maxRequestAttempts = config.optInt("maxRequestAttempts",
+                    DEFAULT_MAX_REQUEST_ATTEMPTS);
+            this.requestRetryDeadline = config.optInt("requestRetryDeadline",
+                    DEFAULT_REQUEST_RETRY_DEADLINE);
+            this.fileIdCacheSize = config.optInt("fileIdCacheSize", DEFAULT_FILE_ID_CACHE_SIZE);
+            this.asyncUploadWorkers = config.optInt("asyncUploadWorkers",
+                    DEFAULT_ASYNC_UPLOAD_WORKERS);
+            this.asyncUploadQueueDepth = config.optInt("asyncUploadQueueDepth",
+                    DEFAULT_ASYNC_UPLOAD_QUEUE_DEPTH);
+            this.asyncUploadQueueFullAction = config.optString("asyncUploadQueueFullAction",
+                    null);
+            this.uploadBandwidthLimit = config.optInt("uploadBandwidthLimit", 0);
+            this.buildUploadBandwidthLimit = config.optInt("buildUploadBandwidthLimit", 0);
+            this.connectTimeout = config.optInt("connectTimeout",
+                    TelegramTimeouts.DEFAULT_CONNECT_TIMEOUT);
+            this.readTimeout = config.optInt("readTimeout", TelegramTimeouts.DEFAULT_READ_TIMEOUT);
+            this.requestTimeout = config.optInt("requestTimeout",
+                    TelegramTimeouts.DEFAULT_REQUEST_TIMEOUT);
+            this.minUploadSpeed = config.optInt("minUploadSpeed",
+                    TelegramTimeouts.DEFAULT_MIN_UPLOAD_SPEED);
+            this.httpTransport = config.optString("httpTransport", null);
             save();
+            // Running uploads are throttled with the new limits too
+            applyBandwidthLimits();
+            synchronized (this) {
+                if (this.fileIdCache != null) {
+                    this.fileIdCache.setMaxSize(getFileIdCacheSize());
+                }
+                if (this.uploadQueue != null) {
+                    this.uploadQueue.configure(getAsyncUploadWorkers(),
+                            getAsyncUploadQueueDepth(), getQueueFullAction());
+                }
+            }
+            // Replace shared HTTP transport if connection settings were changed
+            updateTransport();
             return true;
         }
 
@@ -756,10 +2499,31 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
             return botApiServerUri;
         }
 
+        public String getLocalFilePathMapping() {
+            return localFilePathMapping;
+        }
+
+        LocalFilePathMapping getLocalFilePaths() {
+            try {
+                return LocalFilePathMapping.parse(localFilePathMapping);
+            } catch (IllegalArgumentException e) {
+                // Invalid mapping is reported by the form validation
+                return LocalFilePathMapping.parse(null);
+            }
+        }
+
         public Secret getBotToken() {
             return botToken;
         }
 
+        public Secret getAdditionalBotTokens() {
+            return additionalBotTokens;
+        }
+
+        List<String> getBotTokens() {
+            return getBotTokens(this.botToken, this.additionalBotTokens);
+        }
+
         public String getHttpProxyUri() {
             return httpProxyUri;
         }
@@ -771,5 +2535,160 @@ public class TelegramUploader extends Notifier implements SimpleBuildStep {
         public Secret getHttpProxyPassword() {
             return httpProxyPassword;
         }
+
+        public int getMaxUploadParallelism() {
+            return (maxUploadParallelism > 0) ? maxUploadParallelism
+                    : DEFAULT_MAX_UPLOAD_PARALLELISM;
+        }
+
+        public int getMaxRequestAttempts() {
+            return (maxRequestAttempts > 0) ? maxRequestAttempts : DEFAULT_MAX_REQUEST_ATTEMPTS;
+        }
+
+        public int getRequestRetryDeadline() {
+            return (requestRetryDeadline > 0) ? requestRetryDeadline
+                    : DEFAULT_REQUEST_RETRY_DEADLINE;
+        }
+
+        public int getFileIdCacheSize() {
+            return (fileIdCacheSize > 0) ? fileIdCacheSize : DEFAULT_FILE_ID_CACHE_SIZE;
+        }
+
+        synchronized TelegramFileIdCache getFileIdCache() {
+            if (this.fileIdCache == null) {
+                this.fileIdCache = TelegramFileIdCache.load(getFileIdCacheSize());
+            }
+            return this.fileIdCache;
+        }
+
+        synchronized void flushFileIdCache() {
+            if (this.fileIdCache != null) {
+                this.fileIdCache.flush();
+            }
+        }
+
+        public int getAsyncUploadWorkers() {
+            return (asyncUploadWorkers > 0) ? asyncUploadWorkers : DEFAULT_ASYNC_UPLOAD_WORKERS;
+        }
+
+        public int getAsyncUploadQueueDepth() {
+            return (asyncUploadQueueDepth > 0) ? asyncUploadQueueDepth
+                    : DEFAULT_ASYNC_UPLOAD_QUEUE_DEPTH;
+        }
+
+        public int getUploadBandwidthLimit() {
+            return Math.max(uploadBandwidthLimit, 0);
+        }
+
+        public int getBuildUploadBandwidthLimit() {
+            return Math.max(buildUploadBandwidthLimit, 0);
+        }
+
+        // Timeouts aren't set in configurations saved by the older plugin versions
+        public int getConnectTimeout() {
+            return (connectTimeout != null) ? Math.max(connectTimeout, 0)
+                    : TelegramTimeouts.DEFAULT_CONNECT_TIMEOUT;
+        }
+
+        public int getReadTimeout() {
+            return (readTimeout != null) ? Math.max(readTimeout, 0)
+                    : TelegramTimeouts.DEFAULT_READ_TIMEOUT;
+        }
+
+        public int getRequestTimeout() {
+            return (requestTimeout != null) ? Math.max(requestTimeout, 0)
+                    : TelegramTimeouts.DEFAULT_REQUEST_TIMEOUT;
+        }
+
+        public int getMinUploadSpeed() {
+            return (minUploadSpeed != null) ? Math.max(minUploadSpeed, 0)
+                    : TelegramTimeouts.DEFAULT_MIN_UPLOAD_SPEED;
+        }
+
+        public String getHttpTransport() {
+            return getTransportType().name();
+        }
+
+        // Apache HttpClient is kept by default, HTTP/2 transport is opt-in
+        private TelegramTransport.Type getTransportType() {
+            try {
+                return TelegramTransport.Type.valueOf(httpTransport);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return TelegramTransport.Type.HTTP_1_1;
+            }
+        }
+
+        TelegramTimeouts getTimeouts() {
+            return new TelegramTimeouts(getConnectTimeout(), getReadTimeout(),
+                    getRequestTimeout(), getMinUploadSpeed());
+        }
+
+        // Circuit breaker states of Bot API servers for the configuration page
+        public Collection<TelegramCircuitBreaker.Status> getBotApiServerStatus() {
+            return TelegramCircuitBreaker.getStatus();
+        }
+
+        // Check if Bot API server is available again, any API response means it is
+        private boolean probeBotApiServer(String serverUri) {
+            List<String> botTokens = getBotTokens();
+            try {
+                TelegramUploader.sendTelegramRequest(serverUri, botTokens.get(0),
+                        this.httpProxyUri, this.httpProxyUser,
+                        Secret.toString(this.httpProxyPassword), "getMe");
+                return true;
+            } catch (TelegramApiException e) {
+                return !isBotApiServerFailure(e);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Bot API server " + serverUri + " probe failed", e);
+                return false;
+            }
+        }
+
+        private void applyBandwidthLimits() {
+            TelegramBandwidthLimiter.get().setLimits(getUploadBandwidthLimit() * 1024L,
+                    getBuildUploadBandwidthLimit() * 1024L);
+        }
+
+        public String getAsyncUploadQueueFullAction() {
+            return getQueueFullAction().name();
+        }
+
+        private TelegramUploadQueue.QueueFullAction getQueueFullAction() {
+            try {
+                return TelegramUploadQueue.QueueFullAction.valueOf(asyncUploadQueueFullAction);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                return TelegramUploadQueue.QueueFullAction.WAIT;
+            }
+        }
+
+        synchronized TelegramUploadQueue getUploadQueue() {
+            if (this.uploadQueue == null) {
+                this.uploadQueue = new TelegramUploadQueue(
+                        new File(Jenkins.get().getRootDir(), ASYNC_UPLOAD_QUEUE_DIR),
+                        getAsyncUploadWorkers(), getAsyncUploadQueueDepth(),
+                        getQueueFullAction());
+            }
+            return this.uploadQueue;
+        }
+
+        synchronized void stopUploadQueue() {
+            if (this.uploadQueue != null) {
+                this.uploadQueue.stop();
+            }
+        }
+
+        // Number of pending and in progress asynchronous uploads for the configuration page
+        public synchronized int getPendingUploadsCount() {
+            return (this.uploadQueue != null) ? this.uploadQueue.getPendingCount() : 0;
+        }
+
+        public synchronized int getInProgressUploadsCount() {
+            return (this.uploadQueue != null) ? this.uploadQueue.getInProgressCount() : 0;
+        }
+
+        TelegramRetryPolicy getRetryPolicy() {
+            return new TelegramRetryPolicy(getMaxRequestAttempts(), getRequestRetryDeadline(),
+                    getTimeouts());
+        }
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+
+import hudson.Extension;
+import jenkins.metrics.api.MetricProvider;
+
+/**
+ * Telegram upload metrics exposed to the Metrics plugin, loaded only if it's installed.
+ */
+@Extension(optional = true)
+public class TelegramUploaderMetricProvider extends MetricProvider {
+    // Metrics names prefix
+    private final static String PREFIX = "telegram-uploader.";
+
+    @Override
+    public MetricSet getMetricSet() {
+        TelegramUploaderMetrics metrics = TelegramUploaderMetrics.get();
+        Map<String, Metric> gauges = new LinkedHashMap<>();
+        gauges.put(PREFIX + "requests", (Gauge<Long>) metrics::getRequests);
+        gauges.put(PREFIX + "requests.errors.4xx", (Gauge<Long>) metrics::getClientErrors);
+        gauges.put(PREFIX + "requests.errors.429", (Gauge<Long>) metrics::getRateLimitErrors);
+        gauges.put(PREFIX + "requests.errors.5xx", (Gauge<Long>) metrics::getServerErrors);
+        gauges.put(PREFIX + "requests.errors.network", (Gauge<Long>) metrics::getNetworkErrors);
+        gauges.put(PREFIX + "requests.retries", (Gauge<Long>) metrics::getRetries);
+        gauges.put(PREFIX + "uploads", (Gauge<Long>) metrics::getUploads);
+        gauges.put(PREFIX + "uploads.failures", (Gauge<Long>) metrics::getUploadFailures);
+        gauges.put(PREFIX + "uploads.bytes", (Gauge<Long>) metrics::getBytesUploaded);
+        gauges.put(PREFIX + "uploads.throughput", (Gauge<Long>) metrics::getThroughput);
+        gauges.put(PREFIX + "uploads.latency.median",
+                (Gauge<Long>) metrics::getUploadLatencyMedian);
+        gauges.put(PREFIX + "uploads.latency.p95",
+                (Gauge<Long>) metrics::getUploadLatency95thPercentile);
+        gauges.put(PREFIX + "queue.pending", (Gauge<Integer>) metrics::getQueuedUploads);
+        gauges.put(PREFIX + "queue.in-progress", (Gauge<Integer>) metrics::getInProgressUploads);
+        return () -> gauges;
+    }
+}
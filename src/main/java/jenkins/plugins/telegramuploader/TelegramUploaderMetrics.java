@@ -0,0 +1,298 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.init.Terminator;
+import jenkins.model.Jenkins;
+
+/**
+ * Controller-wide Telegram upload metrics.
+ *
+ * Counters are lock-free adders and latencies are recorded into fixed bucket histograms,
+ * so recording costs a few atomic increments per request. Metrics are exposed through JMX,
+ * the Metrics plugin (if installed) and the {@link TelegramUploaderStatusAction} page.
+ */
+public final class TelegramUploaderMetrics implements TelegramUploaderMetricsMXBean {
+    private static final Logger LOGGER = Logger.getLogger(TelegramUploaderMetrics.class.getName());
+
+    // JMX object name of the metrics bean
+    private final static String OBJECT_NAME = "jenkins.plugins.telegramuploader:type=Metrics";
+
+    private final static TelegramUploaderMetrics INSTANCE = new TelegramUploaderMetrics();
+
+    private final Map<String, Histogram> requestLatencies = new ConcurrentHashMap<>();
+    private final Histogram uploadLatency = new Histogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder rateLimitErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder networkErrors = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder uploadFailures = new LongAdder();
+    private final LongAdder bytesUploaded = new LongAdder();
+    private final LongAdder uploadNanos = new LongAdder();
+
+    private TelegramUploaderMetrics() {
+    }
+
+    public static TelegramUploaderMetrics get() {
+        return INSTANCE;
+    }
+
+    // Record Bot API request attempt, failure is null for successful requests
+    void recordRequest(String botMethod, long nanos, long bytes, IOException failure) {
+        this.requests.increment();
+        this.requestLatencies.computeIfAbsent(botMethod, m -> new Histogram()).record(nanos);
+        if (failure == null) {
+            if (bytes > 0) {
+                this.bytesUploaded.add(bytes);
+                this.uploadNanos.add(nanos);
+            }
+        } else if (failure instanceof TelegramApiException) {
+            int statusCode = ((TelegramApiException) failure).getStatusCode();
+            if (statusCode == 429) {
+                this.rateLimitErrors.increment();
+            } else if (statusCode >= 500) {
+                this.serverErrors.increment();
+            } else if (statusCode >= 400) {
+                this.clientErrors.increment();
+            }
+        } else {
+            this.networkErrors.increment();
+        }
+    }
+
+    void recordRetry() {
+        this.retries.increment();
+    }
+
+    void recordUpload(long nanos) {
+        this.uploadLatency.record(nanos);
+    }
+
+    void recordUploadFailure() {
+        this.uploadFailures.increment();
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getClientErrors() {
+        return clientErrors.sum();
+    }
+
+    @Override
+    public long getRateLimitErrors() {
+        return rateLimitErrors.sum();
+    }
+
+    @Override
+    public long getServerErrors() {
+        return serverErrors.sum();
+    }
+
+    @Override
+    public long getNetworkErrors() {
+        return networkErrors.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getUploads() {
+        return uploadLatency.getCount();
+    }
+
+    @Override
+    public long getUploadFailures() {
+        return uploadFailures.sum();
+    }
+
+    @Override
+    public long getBytesUploaded() {
+        return bytesUploaded.sum();
+    }
+
+    @Override
+    public long getThroughput() {
+        long nanos = uploadNanos.sum();
+        return (nanos > 0) ? bytesUploaded.sum() * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    @Override
+    public long getUploadLatencyMedian() {
+        return uploadLatency.getPercentile(0.5);
+    }
+
+    @Override
+    public long getUploadLatency95thPercentile() {
+        return uploadLatency.getPercentile(0.95);
+    }
+
+    @Override
+    public Map<String, Long> getRequestCounts() {
+        return getRequestStats(Histogram::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getRequestLatencyMedians() {
+        return getRequestStats(h -> h.getPercentile(0.5));
+    }
+
+    @Override
+    public Map<String, Long> getRequestLatency95thPercentiles() {
+        return getRequestStats(h -> h.getPercentile(0.95));
+    }
+
+    @Override
+    public int getQueuedUploads() {
+        TelegramUploader.TelegramUploaderDescriptor descriptor = getDescriptor();
+        return (descriptor != null) ? descriptor.getPendingUploadsCount() : 0;
+    }
+
+    @Override
+    public int getInProgressUploads() {
+        TelegramUploader.TelegramUploaderDescriptor descriptor = getDescriptor();
+        return (descriptor != null) ? descriptor.getInProgressUploadsCount() : 0;
+    }
+
+    private Map<String, Long> getRequestStats(ToLongFunction<Histogram> stat) {
+        Map<String, Long> stats = new TreeMap<>();
+        for (Map.Entry<String, Histogram> latency : requestLatencies.entrySet()) {
+            stats.put(latency.getKey(), stat.applyAsLong(latency.getValue()));
+        }
+        return stats;
+    }
+
+    private static TelegramUploader.TelegramUploaderDescriptor getDescriptor() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        return (jenkins != null) ? jenkins.getDescriptorByType(
+                TelegramUploader.TelegramUploaderDescriptor.class) : null;
+    }
+
+    @Initializer(after = InitMilestone.PLUGINS_STARTED)
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Can't register Telegram uploader metrics MBean", e);
+        }
+    }
+
+    @Terminator
+    public static void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Can't unregister Telegram uploader metrics MBean", e);
+        }
+    }
+
+    /**
+     * Latency histogram with fixed exponential buckets, percentiles are bucket upper bounds.
+     */
+    static final class Histogram {
+        // Buckets upper bounds in milliseconds, the last bucket is unbounded
+        private final static long[] BUCKET_BOUNDS_MILLIS = {
+            10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 25000, 60000, 120000
+        };
+
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+        private final LongAdder count = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int i = 0;
+            while (i < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[i]) {
+                i++;
+            }
+            buckets[i].increment();
+            count.increment();
+        }
+
+        long getCount() {
+            return count.sum();
+        }
+
+        // Get percentile (0..1) upper bound in milliseconds, or 0 if nothing was recorded
+        long getPercentile(double percentile) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            long rank = (long) Math.ceil(total * percentile);
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank && cumulative > 0) {
+                    return (i < BUCKET_BOUNDS_MILLIS.length) ? BUCKET_BOUNDS_MILLIS[i]
+                            : Long.MAX_VALUE;
+                }
+            }
+            return 0;
+        }
+    }
+}
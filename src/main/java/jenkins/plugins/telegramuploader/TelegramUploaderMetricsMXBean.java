@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.util.Map;
+
+/**
+ * JMX interface of the Telegram upload metrics, latencies are in milliseconds.
+ */
+public interface TelegramUploaderMetricsMXBean {
+    long getRequests();
+
+    long getClientErrors();
+
+    long getRateLimitErrors();
+
+    long getServerErrors();
+
+    long getNetworkErrors();
+
+    long getRetries();
+
+    long getUploads();
+
+    long getUploadFailures();
+
+    long getBytesUploaded();
+
+    // Upload throughput in bytes per second
+    long getThroughput();
+
+    long getUploadLatencyMedian();
+
+    long getUploadLatency95thPercentile();
+
+    Map<String, Long> getRequestCounts();
+
+    Map<String, Long> getRequestLatencyMedians();
+
+    Map<String, Long> getRequestLatency95thPercentiles();
+
+    int getQueuedUploads();
+
+    int getInProgressUploads();
+}
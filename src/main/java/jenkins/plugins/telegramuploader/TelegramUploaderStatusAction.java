@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.util.Collection;
+
+import org.apache.http.pool.PoolStats;
+
+import hudson.Extension;
+import hudson.model.RootAction;
+import jenkins.model.Jenkins;
+
+/**
+ * Telegram uploader status page with upload metrics, available to administrators.
+ */
+@Extension
+public class TelegramUploaderStatusAction implements RootAction {
+    public TelegramUploaderMetrics getMetrics() {
+        return TelegramUploaderMetrics.get();
+    }
+
+    public Collection<TelegramBotPool.BotStatus> getBots() {
+        return TelegramBotPool.get().getStatus();
+    }
+
+    public PoolStats getHttpConnectionPoolStats() {
+        Jenkins jenkins = Jenkins.get();
+        TelegramUploader.TelegramUploaderDescriptor descriptor =
+                jenkins.getDescriptorByType(TelegramUploader.TelegramUploaderDescriptor.class);
+        return (descriptor != null) ? descriptor.getHttpConnectionPoolStats() : null;
+    }
+
+    @Override
+    public String getIconFileName() {
+        // Not shown in the side panel
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Telegram Uploader Status";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "telegram-uploader";
+    }
+}
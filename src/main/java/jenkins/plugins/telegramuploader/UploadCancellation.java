@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.InterruptedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Cancellation scope of an upload, aborting its in-flight Bot API requests on cancel.
+ *
+ * The scope is bound to the thread running the upload and is passed explicitly to tasks
+ * it runs on other threads for parallel uploads and forwards. It isn't inherited, so shared
+ * worker threads created during the upload don't keep it after the upload is finished.
+ */
+final class UploadCancellation {
+    private static final ThreadLocal<UploadCancellation> CURRENT = new ThreadLocal<>();
+
+    private final Set<HttpUriRequest> requests = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    static UploadCancellation current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(UploadCancellation cancellation) {
+        if (cancellation != null) {
+            CURRENT.set(cancellation);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Register request to be aborted on cancel, fail if upload is already cancelled
+    void register(HttpUriRequest request) throws InterruptedIOException {
+        checkCancelled();
+        this.requests.add(request);
+        // Request could be missed by concurrent cancel
+        if (this.cancelled) {
+            request.abort();
+        }
+    }
+
+    void unregister(HttpUriRequest request) {
+        this.requests.remove(request);
+    }
+
+    void checkCancelled() throws InterruptedIOException {
+        if (this.cancelled) {
+            throw new InterruptedIOException("Telegram upload is cancelled");
+        }
+    }
+
+    void cancel() {
+        this.cancelled = true;
+        for (HttpUriRequest request : this.requests) {
+            request.abort();
+        }
+    }
+}
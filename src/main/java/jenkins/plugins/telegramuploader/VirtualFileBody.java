@@ -0,0 +1,226 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+import hudson.Util;
+import jenkins.util.VirtualFile;
+
+/**
+ * Multipart body streamed from the {@link VirtualFile}, so artifacts stored by any
+ * artifact manager could be uploaded without copying them to a local file or memory.
+ *
+ * File is reopened on each write, so multipart entity with this body is repeatable.
+ * Body could be limited to the file part to upload large files in parts, then
+ * SHA-256 digest of the written part is computed on the fly.
+ */
+class VirtualFileBody extends AbstractContentBody {
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final VirtualFile file;
+    private final Parts parts;
+    private final String filename;
+    private final long offset;
+    private final long length;
+    private volatile String digest;
+
+    VirtualFileBody(VirtualFile file, ContentType contentType) throws IOException {
+        super(contentType);
+        this.file = file;
+        this.parts = null;
+        this.filename = file.getName();
+        this.offset = 0;
+        this.length = file.length();
+    }
+
+    VirtualFileBody(Parts parts, String filename, long offset, long length,
+            ContentType contentType) {
+        super(contentType);
+        this.file = parts.file;
+        this.parts = parts;
+        this.filename = filename;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    // Hex SHA-256 digest of the last completely written part, or null if not written yet
+    String getDigest() {
+        return digest;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = this.length;
+        MessageDigest messageDigest = null;
+        if (this.parts != null) {
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream in = (this.parts != null) ? this.parts.open(this.offset)
+                : this.file.open()) {
+            while (remaining > 0) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (n < 0) {
+                    throw new IOException("Unexpected end of file '" + this.filename + "': "
+                            + remaining + " bytes are missing");
+                }
+                out.write(buffer, 0, n);
+                if (messageDigest != null) {
+                    messageDigest.update(buffer, 0, n);
+                }
+                remaining -= n;
+            }
+        }
+        out.flush();
+        if (messageDigest != null) {
+            this.digest = Util.toHexString(messageDigest.digest());
+        }
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return MIME.ENC_BINARY;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    /**
+     * File split into parts uploaded in order.
+     *
+     * The file is read through a single stream kept open between parts, so every part is read
+     * once even if the file stream can't skip without reading (like remote artifacts).
+     * The file is reopened only if a part is written again, e.g. on upload retry.
+     */
+    static final class Parts implements Closeable {
+        private final VirtualFile file;
+        private InputStream in;
+        // Position of the next byte of the open stream
+        private long position;
+
+        Parts(VirtualFile file) {
+            this.file = file;
+        }
+
+        // Open stream at the part offset, closing it doesn't close the file stream
+        synchronized InputStream open(long offset) throws IOException {
+            if (this.in == null || this.position != offset) {
+                close();
+                this.in = this.file.open();
+                this.position = 0;
+                skip(offset);
+            }
+            return new FilterInputStream(this.in) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        advance(1);
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n > 0) {
+                        advance(n);
+                    }
+                    return n;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    long skipped = super.skip(n);
+                    advance(skipped);
+                    return skipped;
+                }
+
+                @Override
+                public void close() {
+                    // File stream is kept open for the next part
+                }
+            };
+        }
+
+        private synchronized void advance(long n) {
+            this.position += n;
+        }
+
+        // Skip file content before the part
+        private void skip(long offset) throws IOException {
+            byte[] buffer = null;
+            while (this.position < offset) {
+                long n = this.in.skip(offset - this.position);
+                if (n <= 0) {
+                    // Stream doesn't support skipping, read content instead
+                    if (buffer == null) {
+                        buffer = new byte[BUFFER_SIZE];
+                    }
+                    n = this.in.read(buffer, 0,
+                            (int) Math.min(buffer.length, offset - this.position));
+                    if (n < 0) {
+                        throw new IOException("Unexpected end of file '" + this.file.getName()
+                                + "': can't skip " + (offset - this.position) + " bytes");
+                    }
+                }
+                this.position += n;
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (this.in != null) {
+                InputStream closed = this.in;
+                this.in = null;
+                closed.close();
+            }
+        }
+    }
+}
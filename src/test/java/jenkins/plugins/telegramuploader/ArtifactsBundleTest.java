@@ -0,0 +1,196 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Test;
+
+import hudson.Util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class ArtifactsBundleTest {
+    private final static String[] ARTIFACTS = { "random.bin", "text.txt", "empty.txt" };
+
+    private final static byte[] RANDOM = new byte[100 * 1024];
+    private final static byte[] TEXT = repeat("Build log line\n", 10000);
+
+    static {
+        new Random(42).nextBytes(RANDOM);
+    }
+
+    @Test
+    public void writesBundleInSinglePart() throws Exception {
+        try (ArtifactsBundle bundle = createBundle(Deflater.DEFAULT_COMPRESSION)) {
+            ArtifactsBundle.Part part = bundle.nextPart("bundle.zip", bundle.getMaxLength());
+            assertEquals("bundle.zip", part.getFilename());
+            assertEquals(-1, part.getContentLength());
+            assertEquals(-1, part.getLength());
+            assertNull(part.getDigest());
+            byte[] zip = write(part);
+            assertTrue(bundle.isWritten());
+            assertEquals(zip.length, part.getLength());
+            assertEquals(sha256(zip), part.getDigest());
+            assertBundle(zip);
+        }
+    }
+
+    @Test
+    public void compressesTextArtifacts() throws Exception {
+        try (ArtifactsBundle bundle = createBundle(Deflater.BEST_COMPRESSION)) {
+            byte[] zip = write(bundle.nextPart("bundle.zip", bundle.getMaxLength()));
+            assertTrue(zip.length < RANDOM.length + TEXT.length / 10);
+        }
+    }
+
+    @Test
+    public void maxLengthIsNotExceededWithoutCompression() throws Exception {
+        try (ArtifactsBundle bundle = createBundle(Deflater.NO_COMPRESSION)) {
+            long maxLength = bundle.getMaxLength();
+            byte[] zip = write(bundle.nextPart("bundle.zip", maxLength));
+            assertTrue(bundle.isWritten());
+            assertTrue(zip.length <= maxLength);
+            assertBundle(zip);
+        }
+    }
+
+    @Test
+    public void splitsBundleIntoParts() throws Exception {
+        byte[] expected;
+        try (ArtifactsBundle bundle = createBundle(Deflater.DEFAULT_COMPRESSION)) {
+            expected = write(bundle.nextPart("bundle.zip", bundle.getMaxLength()));
+        }
+        int partSize = 10 * 1024;
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        List<ArtifactsBundle.Part> parts = new ArrayList<>();
+        try (ArtifactsBundle bundle = createBundle(Deflater.DEFAULT_COMPRESSION)) {
+            while (parts.isEmpty() || !bundle.isWritten()) {
+                ArtifactsBundle.Part part = bundle.nextPart("bundle.zip." + parts.size(),
+                        partSize);
+                byte[] data = write(part);
+                assertTrue(data.length <= partSize);
+                assertEquals(data.length, part.getLength());
+                assertEquals(sha256(data), part.getDigest());
+                joined.write(data);
+                parts.add(part);
+            }
+        }
+        assertEquals((expected.length + partSize - 1) / partSize, parts.size());
+        assertArrayEquals(expected, joined.toByteArray());
+    }
+
+    @Test
+    public void rewritesPartOnRetry() throws Exception {
+        int partSize = 10 * 1024;
+        try (ArtifactsBundle bundle = createBundle(Deflater.DEFAULT_COMPRESSION)) {
+            write(bundle.nextPart("bundle.zip.1", partSize));
+            ArtifactsBundle.Part part = bundle.nextPart("bundle.zip.2", partSize);
+            // Part upload failed in the middle
+            ByteArrayOutputStream failed = new ByteArrayOutputStream();
+            IOException e = assertThrows(IOException.class,
+                    () -> part.writeTo(new FilterOutputStream(failed) {
+                        @Override
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            if (failed.size() + len > partSize / 2) {
+                                throw new IOException("Connection reset");
+                            }
+                            failed.write(b, off, len);
+                        }
+                    }));
+            assertEquals("Connection reset", e.getMessage());
+            byte[] retried = write(part);
+            byte[] again = write(part);
+            assertEquals(partSize, retried.length);
+            assertArrayEquals(retried, again);
+            assertArrayEquals(failed.toByteArray(),
+                    Arrays.copyOf(retried, failed.size()));
+            // Next part follows the retried one
+            byte[] next = write(bundle.nextPart("bundle.zip.3", partSize));
+            assertFalse(Arrays.equals(retried, next));
+        }
+    }
+
+    private static ArtifactsBundle createBundle(int compressionLevel) {
+        MemoryVirtualFile root = new MemoryVirtualFile("archive", new byte[0])
+                .add(new MemoryVirtualFile(ARTIFACTS[0], RANDOM))
+                .add(new MemoryVirtualFile(ARTIFACTS[1], TEXT))
+                .add(new MemoryVirtualFile(ARTIFACTS[2], new byte[0]));
+        return new ArtifactsBundle(root, ARTIFACTS, compressionLevel);
+    }
+
+    private static void assertBundle(byte[] zip) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            assertEntry(in, ARTIFACTS[0], RANDOM);
+            assertEntry(in, ARTIFACTS[1], TEXT);
+            assertEntry(in, ARTIFACTS[2], new byte[0]);
+            assertNull(in.getNextEntry());
+        }
+    }
+
+    private static void assertEntry(ZipInputStream in, String name, byte[] content)
+            throws IOException {
+        ZipEntry entry = in.getNextEntry();
+        assertEquals(name, entry.getName());
+        assertArrayEquals(content, in.readAllBytes());
+    }
+
+    private static byte[] write(ArtifactsBundle.Part part) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        part.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return Util.toHexString(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+
+    private static byte[] repeat(String line, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(line);
+        }
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP server mimicking Bot API methods used by the plugin, with fault injection:
+ * response latency, 429 responses with retry_after, connection resets and bandwidth cap.
+ *
+ * Request bodies are read and discarded unless recording of them is enabled, not failed
+ * requests get successful responses.
+ */
+final class FakeBotApiServer implements AutoCloseable {
+    private final static int BUFFER_SIZE = 64 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger messageId = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimitedRequests = new AtomicLong();
+    private final AtomicLong resetRequests = new AtomicLong();
+    private final Map<String, AtomicLong> methodRequests = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> bodies = new ConcurrentLinkedQueue<>();
+
+    private volatile long latencyMillis;
+    private volatile int rateLimitEvery;
+    private volatile int retryAfterSeconds = 1;
+    private volatile int resetEvery;
+    private volatile long bandwidthBytesPerSecond;
+    private volatile boolean recordBodies;
+
+    FakeBotApiServer(int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    String getUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // Delay of every response
+    FakeBotApiServer setLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    // Respond to every n-th request with 429 error and retry_after parameter, 0 to disable
+    FakeBotApiServer setRateLimit(int every, int retryAfterSeconds) {
+        this.rateLimitEvery = every;
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    // Close connection without response on every n-th request, 0 to disable
+    FakeBotApiServer setConnectionReset(int every) {
+        this.resetEvery = every;
+        return this;
+    }
+
+    // Max upload rate of every request, 0 for no limit
+    FakeBotApiServer setBandwidth(long bytesPerSecond) {
+        this.bandwidthBytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    // Keep request bodies, decoded as ISO-8859-1 to keep binary content intact
+    FakeBotApiServer setRecordBodies(boolean recordBodies) {
+        this.recordBodies = recordBodies;
+        return this;
+    }
+
+    List<String> getBodies() {
+        return new ArrayList<>(bodies);
+    }
+
+    long getRequests() {
+        return requests.get();
+    }
+
+    // Successfully handled requests of the Bot API method
+    long getRequests(String method) {
+        AtomicLong count = methodRequests.get(method);
+        return (count != null) ? count.get() : 0;
+    }
+
+    long getRateLimitedRequests() {
+        return rateLimitedRequests.get();
+    }
+
+    long getResetRequests() {
+        return resetRequests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long request = requests.incrementAndGet();
+        try {
+            readRequestBody(exchange);
+            if (this.latencyMillis > 0) {
+                Thread.sleep(this.latencyMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+            return;
+        }
+        int resetEvery = this.resetEvery;
+        if (resetEvery > 0 && request % resetEvery == 0) {
+            resetRequests.incrementAndGet();
+            exchange.close();
+            return;
+        }
+        int rateLimitEvery = this.rateLimitEvery;
+        if (rateLimitEvery > 0 && request % rateLimitEvery == 0) {
+            rateLimitedRequests.incrementAndGet();
+            sendResponse(exchange, 429, "{\"ok\":false,\"error_code\":429,"
+                    + "\"description\":\"Too Many Requests: retry after " + retryAfterSeconds
+                    + "\",\"parameters\":{\"retry_after\":" + retryAfterSeconds + "}}");
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        String method = path.substring(path.lastIndexOf('/') + 1);
+        String result;
+        switch (method) {
+        case "sendDocument":
+            result = "{\"message_id\":" + messageId.incrementAndGet()
+                    + ",\"document\":{\"file_id\":\"BQACAgIAAxkDAAI\"}}";
+            break;
+        case "sendMessage":
+        case "forwardMessage":
+        case "copyMessage":
+            result = "{\"message_id\":" + messageId.incrementAndGet() + "}";
+            break;
+        case "getUpdates":
+            result = "[]";
+            break;
+        case "logOut":
+            result = "true";
+            break;
+        default:
+            sendResponse(exchange, 404, "{\"ok\":false,\"error_code\":404,"
+                    + "\"description\":\"Not Found\"}");
+            return;
+        }
+        methodRequests.computeIfAbsent(method, m -> new AtomicLong()).incrementAndGet();
+        sendResponse(exchange, 200, "{\"ok\":true,\"result\":" + result + "}");
+    }
+
+    private void readRequestBody(HttpExchange exchange) throws IOException, InterruptedException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long startTime = System.nanoTime();
+        long received = 0;
+        ByteArrayOutputStream body = this.recordBodies ? new ByteArrayOutputStream() : null;
+        try (InputStream in = exchange.getRequestBody()) {
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                received += n;
+                if (body != null) {
+                    body.write(buffer, 0, n);
+                }
+                long bandwidth = this.bandwidthBytesPerSecond;
+                if (bandwidth > 0) {
+                    // Sleep until received bytes fit the bandwidth
+                    long expectedNanos = received * TimeUnit.SECONDS.toNanos(1) / bandwidth;
+                    long aheadNanos = expectedNanos - (System.nanoTime() - startTime);
+                    if (aheadNanos > 0) {
+                        TimeUnit.NANOSECONDS.sleep(aheadNanos);
+                    }
+                }
+            }
+        }
+        if (body != null) {
+            bodies.add(body.toString(StandardCharsets.ISO_8859_1.name()));
+        }
+    }
+
+    private static void sendResponse(HttpExchange exchange, int statusCode, String content)
+            throws IOException {
+        byte[] response = content.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
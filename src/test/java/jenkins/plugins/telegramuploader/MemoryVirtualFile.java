@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jenkins.util.VirtualFile;
+
+/**
+ * In-memory {@link VirtualFile} counting opened streams, file with children is a directory.
+ */
+class MemoryVirtualFile extends VirtualFile {
+    private final String name;
+    private final byte[] content;
+    private final long length;
+    private final boolean skippable;
+    private final Map<String, MemoryVirtualFile> children = new LinkedHashMap<>();
+    private int openCount;
+
+    MemoryVirtualFile(String name, byte[] content) {
+        this(name, content, content.length, true);
+    }
+
+    // Reported length could differ from the content length to emulate a truncated file,
+    // not skippable file streams emulate remote artifacts
+    MemoryVirtualFile(String name, byte[] content, long length, boolean skippable) {
+        this.name = name;
+        this.content = content;
+        this.length = length;
+        this.skippable = skippable;
+    }
+
+    MemoryVirtualFile add(MemoryVirtualFile child) {
+        children.put(child.getName(), child);
+        return this;
+    }
+
+    int getOpenCount() {
+        return openCount;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public URI toURI() {
+        return URI.create("memory:/" + name);
+    }
+
+    @Override
+    public VirtualFile getParent() {
+        return null;
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return !children.isEmpty();
+    }
+
+    @Override
+    public boolean isFile() {
+        return children.isEmpty();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public VirtualFile[] list() {
+        return children.values().toArray(new VirtualFile[0]);
+    }
+
+    @Override
+    public VirtualFile child(String name) {
+        MemoryVirtualFile child = children.get(name);
+        if (child == null) {
+            throw new UnsupportedOperationException("No such file: " + name);
+        }
+        return child;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public long lastModified() {
+        return 0;
+    }
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+    @Override
+    public InputStream open() throws IOException {
+        openCount++;
+        return new ByteArrayInputStream(content) {
+            @Override
+            public synchronized long skip(long n) {
+                return skippable ? super.skip(n) : 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TelegramRateLimiterTest {
+    private final static String BOT_TOKEN = "123456:secret";
+    private final static String PRIVATE_CHAT_ID = "1000";
+    private final static String GROUP_CHAT_ID = "-1001000";
+
+    private final static long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private long nanoTime;
+    private final List<Long> waits = new ArrayList<>();
+    private TelegramRateLimiter limiter;
+
+    @Before
+    public void setUp() {
+        // The fake clock is advanced by sleeps only
+        this.limiter = new TelegramRateLimiter(() -> this.nanoTime, nanos -> {
+            this.waits.add(nanos);
+            this.nanoTime += nanos;
+        });
+    }
+
+    @Test
+    public void privateChatBurstIsNotLimited() throws Exception {
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 3);
+        assertEquals(0, this.waits.size());
+    }
+
+    @Test
+    public void privateChatIsLimitedToOneMessagePerSecond() throws Exception {
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 6);
+        assertEquals(3, this.waits.size());
+        for (long wait : this.waits) {
+            assertEquals(SECOND_NANOS, wait);
+        }
+        assertEquals(3 * SECOND_NANOS, this.nanoTime);
+    }
+
+    @Test
+    public void groupChatIsLimitedToTwentyMessagesPerMinute() throws Exception {
+        acquire(BOT_TOKEN, GROUP_CHAT_ID, 5);
+        assertEquals(0, this.waits.size());
+        acquire(BOT_TOKEN, GROUP_CHAT_ID, 20);
+        assertEquals(20, this.waits.size());
+        // Every message after the burst waits for 4 seconds
+        for (long wait : this.waits) {
+            assertEquals(4 * SECOND_NANOS, wait);
+        }
+        assertEquals(20 * 4 * SECOND_NANOS, this.nanoTime);
+    }
+
+    @Test
+    public void channelNameIsLimitedAsGroupChat() throws Exception {
+        acquire(BOT_TOKEN, "@channel", 6);
+        assertEquals(1, this.waits.size());
+        assertEquals(4 * SECOND_NANOS, this.nanoTime);
+    }
+
+    @Test
+    public void botIsLimitedToThirtyMessagesPerSecond() throws Exception {
+        // Every message goes to its own chat, so only the bot limit applies
+        for (int i = 0; i < 30; i++) {
+            this.limiter.acquire(BOT_TOKEN, String.valueOf(i), null);
+        }
+        assertEquals(0, this.waits.size());
+        for (int i = 30; i < 90; i++) {
+            this.limiter.acquire(BOT_TOKEN, String.valueOf(i), null);
+        }
+        assertEquals(60, this.waits.size());
+        for (long wait : this.waits) {
+            assertEquals(SECOND_NANOS / 30, wait);
+        }
+        assertEquals(60 * (SECOND_NANOS / 30), this.nanoTime);
+    }
+
+    @Test
+    public void botsAreLimitedIndependently() throws Exception {
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 3);
+        acquire("654321:secret", PRIVATE_CHAT_ID, 3);
+        assertEquals(0, this.waits.size());
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 1);
+        assertEquals(1, this.waits.size());
+    }
+
+    @Test
+    public void burstIsRefilledAfterIdleTime() throws Exception {
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 3);
+        this.nanoTime += 3 * SECOND_NANOS;
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 3);
+        assertEquals(0, this.waits.size());
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 1);
+        assertEquals(1, this.waits.size());
+        assertEquals(SECOND_NANOS, (long) this.waits.get(0));
+    }
+
+    @Test
+    public void burstIsPartiallyRefilled() throws Exception {
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 3);
+        this.nanoTime += SECOND_NANOS;
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 1);
+        assertEquals(0, this.waits.size());
+        acquire(BOT_TOKEN, PRIVATE_CHAT_ID, 1);
+        assertEquals(1, this.waits.size());
+    }
+
+    private void acquire(String botToken, String chatId, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            this.limiter.acquire(botToken, chatId, null);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestBuilder;
+
+import hudson.Launcher;
+import hudson.model.AbstractBuild;
+import hudson.model.BuildListener;
+import hudson.model.FreeStyleProject;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.tasks.ArtifactArchiver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Concurrent freestyle and Pipeline builds uploading artifacts to the fake Bot API server
+ * injecting faults. Throughput, tail latency of builds and failure rate are logged
+ * for every fault mode.
+ */
+public class TelegramUploaderLoadTest {
+    private static final Logger LOGGER = Logger.getLogger(TelegramUploaderLoadTest.class.getName());
+
+    private final static int FREESTYLE_JOBS = 8;
+    private final static int PIPELINE_JOBS = 8;
+    private final static int BUILDS_PER_JOB = 2;
+    private final static int ARTIFACTS_PER_BUILD = 3;
+    private final static int ARTIFACT_SIZE = 16 * 1024;
+
+    private final static long BUILD_TIMEOUT_MINUTES = 5;
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private FakeBotApiServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new FakeBotApiServer(16);
+        TelegramUploaderTest.configure(j, server.getUri());
+        // Pipeline builds take executors by their node blocks
+        j.jenkins.setNumExecutors(FREESTYLE_JOBS + PIPELINE_JOBS);
+    }
+
+    @After
+    public void tearDown() {
+        this.server.close();
+    }
+
+    @Test
+    public void uploadsWithoutFaults() throws Exception {
+        LoadResult result = runLoad("no faults");
+        assertUploaded(result);
+    }
+
+    @Test
+    public void uploadsWithLatency() throws Exception {
+        server.setLatency(200);
+        LoadResult result = runLoad("200 ms latency");
+        assertUploaded(result);
+        // Every build uploads its artifacts one by one
+        assertTrue(result.getLatencyPercentile(50) >= 200L * ARTIFACTS_PER_BUILD);
+    }
+
+    @Test
+    public void uploadsWithRateLimitErrors() throws Exception {
+        server.setRateLimit(5, 1);
+        LoadResult result = runLoad("429 on every 5th request");
+        assertUploaded(result);
+        assertTrue(server.getRateLimitedRequests() > 0);
+    }
+
+    @Test
+    public void uploadsWithConnectionResets() throws Exception {
+        server.setConnectionReset(7);
+        LoadResult result = runLoad("connection reset on every 7th request");
+        assertUploaded(result);
+        assertTrue(server.getResetRequests() > 0);
+    }
+
+    @Test
+    public void uploadsWithBandwidthCap() throws Exception {
+        long bandwidth = 64 * 1024;
+        server.setBandwidth(bandwidth);
+        LoadResult result = runLoad("64 KiB/s per request bandwidth");
+        assertUploaded(result);
+        // Every artifact takes a quarter of a second to be received
+        assertTrue(result.getLatencyPercentile(50)
+                >= ARTIFACTS_PER_BUILD * ARTIFACT_SIZE * 1000L / bandwidth);
+    }
+
+    @Test
+    public void uploadsWithAllFaults() throws Exception {
+        server.setLatency(50)
+                .setRateLimit(11, 1)
+                .setConnectionReset(13)
+                .setBandwidth(256 * 1024);
+        LoadResult result = runLoad("all faults");
+        assertUploaded(result);
+    }
+
+    // All builds should succeed, and all artifacts should be uploaded exactly once
+    private void assertUploaded(LoadResult result) {
+        assertEquals("Failure rate", 0.0, result.getFailureRate(), 0.0);
+        assertEquals((FREESTYLE_JOBS + PIPELINE_JOBS) * BUILDS_PER_JOB * ARTIFACTS_PER_BUILD,
+                server.getRequests("sendDocument"));
+    }
+
+    // Run builds of all jobs concurrently and log the results
+    private LoadResult runLoad(String faults) throws Exception {
+        List<Future<? extends Run<?, ?>>> builds = new ArrayList<>();
+        List<FreeStyleProject> freestyleJobs = new ArrayList<>();
+        for (int i = 0; i < FREESTYLE_JOBS; i++) {
+            freestyleJobs.add(createFreestyleJob(i));
+        }
+        List<WorkflowJob> pipelineJobs = new ArrayList<>();
+        for (int i = 0; i < PIPELINE_JOBS; i++) {
+            pipelineJobs.add(createPipelineJob(FREESTYLE_JOBS + i));
+        }
+        long startTime = System.nanoTime();
+        for (int n = 0; n < BUILDS_PER_JOB; n++) {
+            for (FreeStyleProject job : freestyleJobs) {
+                builds.add(job.scheduleBuild2(0));
+            }
+            for (WorkflowJob job : pipelineJobs) {
+                builds.add(job.scheduleBuild2(0));
+            }
+        }
+        List<Run<?, ?>> runs = new ArrayList<>();
+        for (Future<? extends Run<?, ?>> build : builds) {
+            runs.add(build.get(BUILD_TIMEOUT_MINUTES, TimeUnit.MINUTES));
+        }
+        LoadResult result = new LoadResult(runs, System.nanoTime() - startTime);
+        LOGGER.info(String.format("Load with %s: %d builds, %.1f uploads/s, "
+                + "build time p50 %d ms, p95 %d ms, max %d ms, failure rate %.1f%%, "
+                + "%d requests, %d rate limited, %d reset",
+                faults, runs.size(), result.getThroughput(), result.getLatencyPercentile(50),
+                result.getLatencyPercentile(95), result.getLatencyPercentile(100),
+                result.getFailureRate() * 100, server.getRequests(),
+                server.getRateLimitedRequests(), server.getResetRequests()));
+        return result;
+    }
+
+    // Every job uploads to its own chat, so builds are limited by the bot rate limit only
+    private FreeStyleProject createFreestyleJob(int n) throws IOException {
+        FreeStyleProject project = j.createFreeStyleProject("freestyle-" + n);
+        project.getBuildersList().add(new TestBuilder() {
+            @Override
+            public boolean perform(AbstractBuild<?, ?> build, Launcher launcher,
+                    BuildListener listener) throws InterruptedException, IOException {
+                for (int i = 0; i < ARTIFACTS_PER_BUILD; i++) {
+                    build.getWorkspace().child("artifact-" + i + ".bin")
+                            .write(getArtifactContent(), "UTF-8");
+                }
+                return true;
+            }
+        });
+        project.getPublishersList().add(new ArtifactArchiver("*.bin"));
+        TelegramUploader uploader = new TelegramUploader(String.valueOf(1000 + n), "*.bin");
+        uploader.setFailBuildIfUploadFailed(true);
+        project.getPublishersList().add(uploader);
+        return project;
+    }
+
+    private WorkflowJob createPipelineJob(int n) throws IOException {
+        WorkflowJob job = j.createProject(WorkflowJob.class, "pipeline-" + n);
+        job.setDefinition(new CpsFlowDefinition("node {\n"
+                + "  for (int i = 0; i < " + ARTIFACTS_PER_BUILD + "; i++) {\n"
+                + "    writeFile file: \"artifact-${i}.bin\", text: '"
+                + getArtifactContent() + "'\n"
+                + "  }\n"
+                + "  archiveArtifacts '*.bin'\n"
+                + "  telegramUpload chatId: '" + (1000 + n) + "', filter: '*.bin', "
+                + "failBuildIfUploadFailed: true\n"
+                + "}", true));
+        return job;
+    }
+
+    private static String getArtifactContent() {
+        StringBuilder content = new StringBuilder(ARTIFACT_SIZE);
+        while (content.length() < ARTIFACT_SIZE) {
+            content.append("0123456789abcdef");
+        }
+        return content.toString();
+    }
+
+    /**
+     * Outcome of concurrent builds.
+     */
+    private static final class LoadResult {
+        private final List<Long> durations = new ArrayList<>();
+        private final int failures;
+        private final long elapsedNanos;
+
+        LoadResult(List<Run<?, ?>> runs, long elapsedNanos) {
+            int failed = 0;
+            for (Run<?, ?> run : runs) {
+                this.durations.add(run.getDuration());
+                if (run.getResult() != Result.SUCCESS) {
+                    failed++;
+                }
+            }
+            Collections.sort(this.durations);
+            this.failures = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // Uploaded artifacts per second
+        double getThroughput() {
+            return (this.durations.size() - this.failures) * ARTIFACTS_PER_BUILD
+                    * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos;
+        }
+
+        // Build duration percentile in milliseconds
+        long getLatencyPercentile(int percentile) {
+            int n = (int) Math.ceil(this.durations.size() * percentile / 100.0);
+            return this.durations.get(Math.max(n - 1, 0));
+        }
+
+        double getFailureRate() {
+            return (double) this.failures / this.durations.size();
+        }
+    }
+}
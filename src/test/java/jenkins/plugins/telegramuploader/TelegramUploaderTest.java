@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.IOException;
+
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestBuilder;
+
+import hudson.Launcher;
+import hudson.model.AbstractBuild;
+import hudson.model.BuildListener;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Result;
+import hudson.tasks.ArtifactArchiver;
+import net.sf.json.JSONObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Uploads of freestyle and Pipeline jobs artifacts to the fake Bot API server.
+ */
+public class TelegramUploaderTest {
+    private final static String CHAT_ID = "1000";
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private FakeBotApiServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = new FakeBotApiServer(4);
+        configure(j, server.getUri());
+    }
+
+    // Configure the plugin to upload to the Bot API server
+    static void configure(JenkinsRule j, String botApiServerUri) throws Exception {
+        JSONObject config = new JSONObject();
+        config.put("botApiServerUri", botApiServerUri);
+        config.put("botToken", "123456:test");
+        config.put("httpProxyUri", "");
+        config.put("httpProxyUser", "");
+        config.put("httpProxyPassword", "");
+        JSONObject json = new JSONObject();
+        json.put("telegram-uploader", config);
+        j.jenkins.getDescriptorByType(TelegramUploader.TelegramUploaderDescriptor.class)
+                .configure(null, json);
+    }
+
+    @After
+    public void tearDown() {
+        this.server.close();
+    }
+
+    @Test
+    public void uploadsFreestyleJobArtifacts() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.getBuildersList().add(new TestBuilder() {
+            @Override
+            public boolean perform(AbstractBuild<?, ?> build, Launcher launcher,
+                    BuildListener listener) throws InterruptedException, IOException {
+                build.getWorkspace().child("first.txt").write("first", "UTF-8");
+                build.getWorkspace().child("second.txt").write("second", "UTF-8");
+                build.getWorkspace().child("skipped.log").write("skipped", "UTF-8");
+                return true;
+            }
+        });
+        project.getPublishersList().add(new ArtifactArchiver("*"));
+        project.getPublishersList().add(new TelegramUploader(CHAT_ID, "*.txt"));
+
+        FreeStyleBuild build = j.buildAndAssertSuccess(project);
+
+        j.assertLogContains("Uploading artifact 'first.txt' to the Telegram chat " + CHAT_ID,
+                build);
+        j.assertLogContains("Uploading artifact 'second.txt' to the Telegram chat " + CHAT_ID,
+                build);
+        j.assertLogNotContains("skipped.log", build);
+        assertEquals(2, server.getRequests("sendDocument"));
+    }
+
+    @Test
+    public void uploadsPipelineArtifacts() throws Exception {
+        WorkflowJob job = j.createProject(WorkflowJob.class);
+        job.setDefinition(new CpsFlowDefinition("node {\n"
+                + "  writeFile file: 'first.txt', text: 'first'\n"
+                + "  writeFile file: 'skipped.log', text: 'skipped'\n"
+                + "  archiveArtifacts '*'\n"
+                + "  telegramUpload chatId: '" + CHAT_ID + "', filter: '*.txt'\n"
+                + "}", true));
+
+        WorkflowRun run = j.buildAndAssertSuccess(job);
+
+        j.assertLogContains("Uploading artifact 'first.txt' to the Telegram chat " + CHAT_ID,
+                run);
+        j.assertLogNotContains("skipped.log", run);
+        assertEquals(1, server.getRequests("sendDocument"));
+    }
+
+    @Test
+    public void expandsPipelineCaptionWithStepEnvironment() throws Exception {
+        server.setRecordBodies(true);
+        WorkflowJob job = j.createProject(WorkflowJob.class);
+        job.setDefinition(new CpsFlowDefinition("node {\n"
+                + "  writeFile file: 'first.txt', text: 'first'\n"
+                + "  archiveArtifacts 'first.txt'\n"
+                + "  withEnv(['APP_VERSION=1.2.3']) {\n"
+                + "    telegramUpload chatId: '" + CHAT_ID + "', filter: '*.txt', "
+                + "caption: 'Version ${APP_VERSION}'\n"
+                + "  }\n"
+                + "}", true));
+
+        j.buildAndAssertSuccess(job);
+
+        assertEquals(1, server.getRequests("sendDocument"));
+        assertTrue(server.getBodies().get(0).contains("Version 1.2.3"));
+    }
+
+    @Test
+    public void failsPipelineIfNoArtifactsMatched() throws Exception {
+        WorkflowJob job = j.createProject(WorkflowJob.class);
+        job.setDefinition(new CpsFlowDefinition("node {\n"
+                + "  writeFile file: 'first.txt', text: 'first'\n"
+                + "  archiveArtifacts 'first.txt'\n"
+                + "  telegramUpload chatId: '" + CHAT_ID + "', filter: '*.zip', "
+                + "failBuildIfUploadFailed: true\n"
+                + "}", true));
+
+        WorkflowRun run = j.assertBuildStatus(Result.FAILURE, job.scheduleBuild2(0));
+
+        j.assertLogContains("No artifacts are matched by given filter for upload", run);
+        assertEquals(0, server.getRequests("sendDocument"));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Telegram Uploader plugin contributors
+ *
+ * ----------------------------------------------------------------------
+ * Permission  is hereby granted, free of charge, to any person obtaining
+ * a  copy  of  this  software  and  associated  documentation files (the
+ * "Software"),  to  deal  in the Software without restriction, including
+ * without  limitation  the  rights to use, copy, modify, merge, publish,
+ * distribute,  sublicense,  and/or  sell  copies of the Software, and to
+ * permit  persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this  permission  notice  shall be
+ * included  in  all  copies  or  substantial  portions  of the Software.
+ *                        -----------------------
+ * THE  SOFTWARE  IS  PROVIDED  "AS  IS",  WITHOUT  WARRANTY OF ANY KIND,
+ * EXPRESS  OR  IMPLIED,  INCLUDING  BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN  NO  EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM,  DAMAGES  OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT  OR  OTHERWISE,  ARISING  FROM,  OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE   OR   THE   USE   OR   OTHER   DEALINGS  IN  THE  SOFTWARE.
+ */
+
+package jenkins.plugins.telegramuploader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.junit.Test;
+
+import hudson.Util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualFileBodyTest {
+    // Larger than the body buffer to write the file in several chunks
+    private final static byte[] CONTENT = createContent(200 * 1024 + 17);
+
+    @Test
+    public void writesWholeFile() throws Exception {
+        MemoryVirtualFile file = new MemoryVirtualFile("file.bin", CONTENT);
+        VirtualFileBody body = new VirtualFileBody(file, ContentType.DEFAULT_BINARY);
+        assertEquals("file.bin", body.getFilename());
+        assertEquals(CONTENT.length, body.getContentLength());
+        assertArrayEquals(CONTENT, write(body));
+        // Digest is computed for file parts only
+        assertNull(body.getDigest());
+    }
+
+    @Test
+    public void writesWholeFileAgain() throws Exception {
+        MemoryVirtualFile file = new MemoryVirtualFile("file.bin", CONTENT);
+        VirtualFileBody body = new VirtualFileBody(file, ContentType.DEFAULT_BINARY);
+        assertArrayEquals(CONTENT, write(body));
+        assertArrayEquals(CONTENT, write(body));
+        assertEquals(2, file.getOpenCount());
+    }
+
+    @Test
+    public void writesFileParts() throws Exception {
+        writeFileParts(new MemoryVirtualFile("file.bin", CONTENT));
+    }
+
+    @Test
+    public void writesFilePartsOfNotSkippableStream() throws Exception {
+        writeFileParts(new MemoryVirtualFile("file.bin", CONTENT, CONTENT.length, false));
+    }
+
+    @Test
+    public void rewritesFilePartOnRetry() throws Exception {
+        MemoryVirtualFile file = new MemoryVirtualFile("file.bin", CONTENT, CONTENT.length,
+                false);
+        int offset = 100 * 1024;
+        try (VirtualFileBody.Parts parts = new VirtualFileBody.Parts(file)) {
+            VirtualFileBody body = new VirtualFileBody(parts, "file.bin.001", offset,
+                    CONTENT.length - offset, ContentType.DEFAULT_BINARY);
+            byte[] expected = Arrays.copyOfRange(CONTENT, offset, CONTENT.length);
+            assertArrayEquals(expected, write(body));
+            assertArrayEquals(expected, write(body));
+            assertEquals(sha256(expected), body.getDigest());
+        }
+        assertEquals(2, file.getOpenCount());
+    }
+
+    @Test
+    public void writesRepeatableMultipartEntityTwice() throws Exception {
+        MemoryVirtualFile file = new MemoryVirtualFile("file.bin", CONTENT);
+        HttpEntity entity = MultipartEntityBuilder.create()
+                .addTextBody("chat_id", "1000")
+                .addPart("document", new VirtualFileBody(file, ContentType.DEFAULT_BINARY))
+                .build();
+        assertTrue(entity.isRepeatable());
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        entity.writeTo(first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        entity.writeTo(second);
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        assertEquals(entity.getContentLength(), second.size());
+        assertTrue(second.size() > CONTENT.length);
+    }
+
+    @Test
+    public void failsOnTruncatedFile() throws Exception {
+        MemoryVirtualFile file = new MemoryVirtualFile("file.bin", CONTENT, CONTENT.length + 10,
+                true);
+        VirtualFileBody body = new VirtualFileBody(file, ContentType.DEFAULT_BINARY);
+        IOException e = assertThrows(IOException.class, () -> write(body));
+        assertEquals("Unexpected end of file 'file.bin': 10 bytes are missing", e.getMessage());
+    }
+
+    @Test
+    public void failsOnTruncatedFilePart() throws Exception {
+        MemoryVirtualFile file = new MemoryVirtualFile("file.bin", CONTENT);
+        try (VirtualFileBody.Parts parts = new VirtualFileBody.Parts(file)) {
+            VirtualFileBody body = new VirtualFileBody(parts, "file.bin.001", 1024,
+                    CONTENT.length, ContentType.DEFAULT_BINARY);
+            IOException e = assertThrows(IOException.class, () -> write(body));
+            assertEquals("Unexpected end of file 'file.bin.001': 1024 bytes are missing",
+                    e.getMessage());
+            assertNull(body.getDigest());
+        }
+    }
+
+    private static void writeFileParts(MemoryVirtualFile file) throws Exception {
+        int partSize = 50 * 1024;
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        try (VirtualFileBody.Parts parts = new VirtualFileBody.Parts(file)) {
+            for (int offset = 0, i = 0; offset < CONTENT.length; offset += partSize, i++) {
+                int length = Math.min(partSize, CONTENT.length - offset);
+                VirtualFileBody body = new VirtualFileBody(parts, "file.bin.00" + i, offset,
+                        length, ContentType.DEFAULT_BINARY);
+                assertEquals(length, body.getContentLength());
+                byte[] part = write(body);
+                assertArrayEquals(Arrays.copyOfRange(CONTENT, offset, offset + length), part);
+                assertEquals(sha256(part), body.getDigest());
+                written.write(part);
+            }
+        }
+        assertArrayEquals(CONTENT, written.toByteArray());
+        // File is read through a single stream
+        assertEquals(1, file.getOpenCount());
+    }
+
+    private static byte[] write(VirtualFileBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return Util.toHexString(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+
+    private static byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        byte[] pattern = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (pattern[i % pattern.length] + i / 4096);
+        }
+        return content;
+    }
+}